@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.schema.registry.avro.AvroSchemaRegistryClientMessageConverter;
+import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManagerImpl;
+import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+/**
+ * Throughput of {@link AvroSchemaRegistryClientMessageConverter} serializing payloads into
+ * messages and deserializing them back, for each kind and size of {@link Payloads
+ * payload}, with and without schema evolution between writer and reader, and with and
+ * without pooling the encoders of the writer.
+ *
+ * @author Spring Cloud Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvroMessageConverterBenchmarks {
+
+	@Param({ "SPECIFIC", "GENERIC", "REFLECT" })
+	private Payloads.Type type;
+
+	@Param({ "SMALL", "LARGE" })
+	private Payloads.Size size;
+
+	@Param({ "false", "true" })
+	private boolean evolved;
+
+	@Param({ "0", "16" })
+	private int codecPoolSize;
+
+	private AvroSchemaRegistryClientMessageConverter writer;
+
+	private AvroSchemaRegistryClientMessageConverter reader;
+
+	private Object payload;
+
+	private MessageHeaders headers;
+
+	private Message<?> message;
+
+	private Class<?> readerType;
+
+	@Setup
+	public void setUp() {
+		SchemaRegistryClient client = new InMemorySchemaRegistryClient();
+		this.writer = createConverter(client);
+		this.writer.setCodecPoolSize(this.codecPoolSize);
+		this.reader = createConverter(client);
+		if (this.evolved && this.type == Payloads.Type.GENERIC) {
+			this.reader.setReaderSchema(new ByteArrayResource(
+					Payloads.evolvedSchema(this.size).toString().getBytes(StandardCharsets.UTF_8)));
+		}
+		this.payload = Payloads.create(this.type, this.size);
+		// the writer only ever sets the same content type on these headers
+		MessageHeaderAccessor accessor = new MessageHeaderAccessor();
+		accessor.setLeaveMutable(true);
+		this.headers = accessor.getMessageHeaders();
+		this.readerType = Payloads.readerType(this.type, this.size, this.evolved);
+		this.message = serialize();
+		if (deserialize() == null) {
+			throw new IllegalStateException("Failed to deserialize " + this.type + " payload");
+		}
+	}
+
+	@Benchmark
+	public Message<?> serialize() {
+		return this.writer.toMessage(this.payload, this.headers);
+	}
+
+	@Benchmark
+	public Object deserialize() {
+		return this.reader.fromMessage(this.message, this.readerType);
+	}
+
+	private static AvroSchemaRegistryClientMessageConverter createConverter(SchemaRegistryClient client) {
+		AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(client,
+				new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		converter.setDynamicSchemaGenerationEnabled(true);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+}
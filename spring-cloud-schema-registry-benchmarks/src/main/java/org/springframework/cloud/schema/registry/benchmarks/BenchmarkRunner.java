@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected on the command line, the same way as JMH's own main
+ * class, with the {@link GCProfiler} always enabled so that allocations per operation are
+ * reported next to throughput.
+ * <p>
+ * Build with {@code ./mvnw -Pbenchmarks -pl spring-cloud-schema-registry-benchmarks -am
+ * package}, then run {@code java -jar spring-cloud-schema-registry-benchmarks/target/benchmarks.jar}
+ * followed by any JMH option, for instance {@code -p type=SPECIFIC} to run only the
+ * specific payloads.
+ *
+ * @author Spring Cloud Team
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+				|| commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+		new Runner(new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cloud.schema.registry.SchemaNotFoundException;
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
+
+/**
+ * {@link SchemaRegistryClient} keeping schemas in memory, so that the benchmarks measure
+ * the converters rather than a remote registry.
+ *
+ * @author Spring Cloud Team
+ */
+public class InMemorySchemaRegistryClient implements SchemaRegistryClient {
+
+	private final AtomicInteger ids = new AtomicInteger();
+
+	private final Map<Integer, String> schemasById = new ConcurrentHashMap<>();
+
+	private final Map<String, Integer> idsBySchema = new ConcurrentHashMap<>();
+
+	private final Map<String, List<String>> schemasBySubject = new ConcurrentHashMap<>();
+
+	@Override
+	public synchronized SchemaRegistrationResponse register(String subject, String format, String schema) {
+		List<String> versions = this.schemasBySubject.computeIfAbsent(subject + "/" + format,
+				key -> new CopyOnWriteArrayList<>());
+		int version = versions.indexOf(schema) + 1;
+		if (version == 0) {
+			versions.add(schema);
+			version = versions.size();
+		}
+		int id = this.idsBySchema.computeIfAbsent(schema, key -> this.ids.incrementAndGet());
+		this.schemasById.put(id, schema);
+		SchemaRegistrationResponse response = new SchemaRegistrationResponse();
+		response.setId(id);
+		response.setSchemaReference(new SchemaReference(subject, version, format));
+		return response;
+	}
+
+	@Override
+	public String fetch(SchemaReference schemaReference) {
+		List<String> versions = this.schemasBySubject
+				.get(schemaReference.getSubject() + "/" + schemaReference.getFormat());
+		if (versions == null || schemaReference.getVersion() > versions.size()) {
+			throw new SchemaNotFoundException("Not found: " + schemaReference);
+		}
+		return versions.get(schemaReference.getVersion() - 1);
+	}
+
+	@Override
+	public String fetch(int id) {
+		String schema = this.schemasById.get(id);
+		if (schema == null) {
+			throw new SchemaNotFoundException("Not found: " + id);
+		}
+		return schema;
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.specific.SpecificRecord;
+
+import org.springframework.cloud.schema.registry.benchmarks.avro.LineItem;
+import org.springframework.cloud.schema.registry.benchmarks.avro.Order;
+import org.springframework.cloud.schema.registry.benchmarks.avro.SensorReading;
+
+/**
+ * Payloads of the converter benchmarks. Every payload is written with the first version
+ * of its schema, and can be read either with the same version or with the second
+ * version, which adds a field with a default value.
+ *
+ * @author Spring Cloud Team
+ */
+public final class Payloads {
+
+	/**
+	 * Number of line items of a large payload.
+	 */
+	static final int LINE_ITEMS = 100;
+
+	/**
+	 * Number of tags and attributes of a large payload.
+	 */
+	static final int TAGS = 10;
+
+	private Payloads() {
+	}
+
+	/**
+	 * Create a payload written with the first version of its schema.
+	 * @param type the kind of payload
+	 * @param size the size of payload
+	 * @return the payload
+	 */
+	public static Object create(Type type, Size size) {
+		switch (type) {
+		case SPECIFIC:
+			return specific(size);
+		case GENERIC:
+			SpecificRecord record = specific(size);
+			return GenericData.get().deepCopy(record.getSchema(), record);
+		default:
+			return reflect(size);
+		}
+	}
+
+	/**
+	 * Return the class payloads are read into.
+	 * @param type the kind of payload
+	 * @param size the size of payload
+	 * @param evolved whether payloads are read with the second version of their schema
+	 * @return the target class of the conversion
+	 */
+	public static Class<?> readerType(Type type, Size size, boolean evolved) {
+		switch (type) {
+		case SPECIFIC:
+			if (size == Size.SMALL) {
+				return evolved ? org.springframework.cloud.schema.registry.benchmarks.avro.v2.SensorReading.class
+						: SensorReading.class;
+			}
+			return evolved ? org.springframework.cloud.schema.registry.benchmarks.avro.v2.Order.class
+					: Order.class;
+		case GENERIC:
+			return GenericRecord.class;
+		default:
+			if (size == Size.SMALL) {
+				return evolved ? org.springframework.cloud.schema.registry.benchmarks.reflect.v2.SensorReading.class
+						: org.springframework.cloud.schema.registry.benchmarks.reflect.SensorReading.class;
+			}
+			return evolved ? org.springframework.cloud.schema.registry.benchmarks.reflect.v2.Order.class
+					: org.springframework.cloud.schema.registry.benchmarks.reflect.Order.class;
+		}
+	}
+
+	/**
+	 * Return the second version of the schema of generic payloads.
+	 * @param size the size of payload
+	 * @return the schema generic payloads are read with when evolved
+	 */
+	public static Schema evolvedSchema(Size size) {
+		return size == Size.SMALL
+				? org.springframework.cloud.schema.registry.benchmarks.avro.v2.SensorReading.getClassSchema()
+				: org.springframework.cloud.schema.registry.benchmarks.avro.v2.Order.getClassSchema();
+	}
+
+	private static SpecificRecord specific(Size size) {
+		if (size == Size.SMALL) {
+			return SensorReading.newBuilder()
+					.setSensorId("sensor-42")
+					.setTimestamp(1600000000000L)
+					.setValue(21.5)
+					.build();
+		}
+		List<CharSequence> tags = new ArrayList<>();
+		Map<CharSequence, CharSequence> attributes = new LinkedHashMap<>();
+		for (int i = 0; i < TAGS; i++) {
+			tags.add("tag-" + i);
+			attributes.put("attribute-" + i, "value-" + i);
+		}
+		List<LineItem> lineItems = new ArrayList<>();
+		for (int i = 0; i < LINE_ITEMS; i++) {
+			lineItems.add(LineItem.newBuilder()
+					.setSku("SKU-" + i)
+					.setDescription("Line item " + i + " of the benchmark order")
+					.setQuantity(i % 5 + 1)
+					.setUnitPrice(9.99 + i)
+					.build());
+		}
+		return Order.newBuilder()
+				.setOrderId("order-42")
+				.setCustomerId("customer-42")
+				.setCreatedAt(1600000000000L)
+				.setCurrency("EUR")
+				.setTotalAmount(12345.67)
+				.setTags(tags)
+				.setAttributes(attributes)
+				.setLineItems(lineItems)
+				.build();
+	}
+
+	private static Object reflect(Size size) {
+		if (size == Size.SMALL) {
+			org.springframework.cloud.schema.registry.benchmarks.reflect.SensorReading reading =
+					new org.springframework.cloud.schema.registry.benchmarks.reflect.SensorReading();
+			reading.setSensorId("sensor-42");
+			reading.setTimestamp(1600000000000L);
+			reading.setValue(21.5);
+			return reading;
+		}
+		List<String> tags = new ArrayList<>();
+		Map<String, String> attributes = new LinkedHashMap<>();
+		for (int i = 0; i < TAGS; i++) {
+			tags.add("tag-" + i);
+			attributes.put("attribute-" + i, "value-" + i);
+		}
+		List<org.springframework.cloud.schema.registry.benchmarks.reflect.LineItem> lineItems = new ArrayList<>();
+		for (int i = 0; i < LINE_ITEMS; i++) {
+			org.springframework.cloud.schema.registry.benchmarks.reflect.LineItem lineItem =
+					new org.springframework.cloud.schema.registry.benchmarks.reflect.LineItem();
+			lineItem.setSku("SKU-" + i);
+			lineItem.setDescription("Line item " + i + " of the benchmark order");
+			lineItem.setQuantity(i % 5 + 1);
+			lineItem.setUnitPrice(9.99 + i);
+			lineItems.add(lineItem);
+		}
+		org.springframework.cloud.schema.registry.benchmarks.reflect.Order order =
+				new org.springframework.cloud.schema.registry.benchmarks.reflect.Order();
+		order.setOrderId("order-42");
+		order.setCustomerId("customer-42");
+		order.setCreatedAt(1600000000000L);
+		order.setCurrency("EUR");
+		order.setTotalAmount(12345.67);
+		order.setTags(tags);
+		order.setAttributes(attributes);
+		order.setLineItems(lineItems);
+		return order;
+	}
+
+	/**
+	 * The kinds of payloads the converters support.
+	 */
+	public enum Type {
+
+		/**
+		 * Classes generated from Avro schemas.
+		 */
+		SPECIFIC,
+
+		/**
+		 * {@link GenericRecord generic records}.
+		 */
+		GENERIC,
+
+		/**
+		 * Plain Java objects, whose schemas are derived by reflection.
+		 */
+		REFLECT
+
+	}
+
+	/**
+	 * The sizes of payloads.
+	 */
+	public enum Size {
+
+		/**
+		 * A record of three primitive fields.
+		 */
+		SMALL,
+
+		/**
+		 * A record with an array of {@value Payloads#LINE_ITEMS} nested records, plus tags and
+		 * attributes.
+		 */
+		LARGE
+
+	}
+
+}
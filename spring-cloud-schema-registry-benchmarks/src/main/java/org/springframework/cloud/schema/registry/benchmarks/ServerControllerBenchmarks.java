@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.schema.registry.EnableSchemaRegistryServer;
+import org.springframework.cloud.schema.registry.controllers.ServerController;
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.repository.SchemaRepository;
+import org.springframework.cloud.schema.registry.support.SchemaValidator;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Throughput of schema registration and latency of schema lookups of
+ * {@link ServerController}, against each embedded database and number of registered
+ * schemas. The server configuration is booted in-process, without a web server, and the
+ * controller is called directly, so that the numbers only depend on the controller, its
+ * caches and the database.
+ * <p>
+ * The repository is seeded with subjects of {@value #VERSIONS_PER_SUBJECT} versions each.
+ * Registering a new version adds it to the seeded subjects in turn, so their version
+ * counts keep growing for the duration of a run.
+ *
+ * @author Spring Cloud Team
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerControllerBenchmarks {
+
+	/**
+	 * Number of versions of each seeded subject.
+	 */
+	static final int VERSIONS_PER_SUBJECT = 100;
+
+	private static final String FORMAT = "avro";
+
+	private static final int SEED_BATCH_SIZE = 1000;
+
+	/**
+	 * Step between the schemas looked up by consecutive invocations, prime so that every
+	 * schema is eventually visited.
+	 */
+	private static final int STRIDE = 7919;
+
+	@Param({ "h2", "hsqldb" })
+	private String database;
+
+	@Param({ "1000", "10000", "100000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+
+	private ServerController controller;
+
+	private List<Integer> ids;
+
+	private int subjects;
+
+	private int invocations;
+
+	private int newVersions;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(ServerBenchmarkConfiguration.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=" + url(this.database),
+						"spring.jpa.hibernate.ddl-auto=validate",
+						"spring.sql.init.mode=always",
+						"spring.sql.init.schema-locations=" + migrations(this.database),
+						"spring.main.banner-mode=off",
+						"logging.level.root=warn")
+				.run();
+		this.controller = this.context.getBean(ServerController.class);
+		this.subjects = Math.max(1, this.rows / VERSIONS_PER_SUBJECT);
+		this.ids = seed(this.context.getBean(SchemaRepository.class),
+				this.context.getBean("schemaValidators", Map.class));
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public ResponseEntity<Schema> registerNewVersion() {
+		int version = VERSIONS_PER_SUBJECT + ++this.newVersions;
+		return this.controller.register(schema(subject(this.newVersions), version), UriComponentsBuilder.newInstance());
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public ResponseEntity<Schema> registerExistingVersion() {
+		int next = next();
+		return this.controller.register(schema(subject(next), next % VERSIONS_PER_SUBJECT + 1),
+				UriComponentsBuilder.newInstance());
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public ResponseEntity<Schema> findOneById() {
+		return this.controller.findOne(this.ids.get(next() % this.ids.size()));
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public ResponseEntity<Schema> findOneByReference() {
+		int next = next();
+		return this.controller.findOne(subject(next), FORMAT, next % VERSIONS_PER_SUBJECT + 1);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public ResponseEntity<List<Schema>> findBySubjectAndFormat() {
+		return this.controller.findBySubjectAndFormat(subject(next()), FORMAT);
+	}
+
+	private int next() {
+		return (int) ((++this.invocations * (long) STRIDE) % this.rows);
+	}
+
+	private String subject(int index) {
+		return "subject-" + (index % this.subjects);
+	}
+
+	/**
+	 * Insert the rows in batches, with the fingerprints registration would have computed,
+	 * and return their ids.
+	 */
+	private List<Integer> seed(SchemaRepository repository, Map<String, SchemaValidator> validators) {
+		SchemaValidator validator = validators.get(FORMAT);
+		List<String> fingerprints = new ArrayList<>();
+		for (int version = 1; version <= VERSIONS_PER_SUBJECT; version++) {
+			fingerprints.add(validator.fingerprint(definition(version)));
+		}
+		List<Integer> seeded = new ArrayList<>(this.rows);
+		List<Schema> batch = new ArrayList<>(SEED_BATCH_SIZE);
+		for (int row = 0; row < this.rows; row++) {
+			int version = row / this.subjects + 1;
+			Schema schema = schema("subject-" + (row % this.subjects), version);
+			schema.setFingerprint(fingerprints.get((version - 1) % VERSIONS_PER_SUBJECT));
+			batch.add(schema);
+			if (batch.size() == SEED_BATCH_SIZE || row == this.rows - 1) {
+				repository.saveAll(batch).forEach(saved -> seeded.add(saved.getId()));
+				batch.clear();
+			}
+		}
+		return seeded;
+	}
+
+	private static Schema schema(String subject, int version) {
+		Schema schema = new Schema();
+		schema.setSubject(subject);
+		schema.setFormat(FORMAT);
+		schema.setDefinition(definition(version));
+		return schema;
+	}
+
+	private static String definition(int version) {
+		return "{\"type\":\"record\",\"name\":\"Benchmark\",\"namespace\":\"org.springframework.cloud\","
+				+ "\"fields\":[{\"name\":\"field" + version + "\",\"type\":\"int\"}]}";
+	}
+
+	private static String url(String database) {
+		String name = "benchmark-" + UUID.randomUUID();
+		return "hsqldb".equals(database) ? "jdbc:hsqldb:mem:" + name : "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+	}
+
+	private static String migrations(String database) {
+		String location = "classpath:db/schema-registry/" + database + "/";
+		return location + "V1__create_schema_repository.sql," + location + "V2__add_schema_fingerprint.sql,"
+				+ location + "V3__add_schema_version_constraint.sql";
+	}
+
+	/**
+	 * The schema registry server, with only the auto-configuration it needs, so that the
+	 * message converter auto-configuration also present on the classpath is left out.
+	 */
+	@SpringBootConfiguration
+	@EnableSchemaRegistryServer
+	@ImportAutoConfiguration({ PropertyPlaceholderAutoConfiguration.class, DataSourceAutoConfiguration.class,
+			SqlInitializationAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+			TransactionAutoConfiguration.class })
+	static class ServerBenchmarkConfiguration {
+
+	}
+
+}
@@ -16,8 +16,13 @@
 
 package org.springframework.cloud.schema.registry;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.avro.Schema;
 
+import org.springframework.util.MimeType;
+
 /**
  * Stores a {@link Schema} together with its String representation.
  *
@@ -41,6 +46,8 @@ public class ParsedSchema {
 
 	private SchemaRegistrationResponse registration;
 
+	private final Map<String, MimeType> contentTypes = new ConcurrentHashMap<>();
+
 	public ParsedSchema(Schema schema) {
 		this.schema = schema;
 		this.representation = schema.toString();
@@ -62,4 +69,19 @@ public class ParsedSchema {
 		this.registration = registration;
 	}
 
+	/**
+	 * Return the content type published alongside payloads written with this schema,
+	 * once it has been derived from the registration by a converter using the given
+	 * subtype prefix.
+	 * @param prefix the subtype prefix of the converter
+	 * @return the content type or {@code null} if not yet known
+	 */
+	public MimeType getContentType(String prefix) {
+		return this.contentTypes.get(prefix);
+	}
+
+	public void setContentType(String prefix, MimeType contentType) {
+		this.contentTypes.put(prefix, contentType);
+	}
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry;
+
+/**
+ * A schema definition retrieved from the registry, along with its identifier and
+ * reference when known.
+ *
+ * @author Spring Cloud Team
+ */
+public class RegisteredSchema {
+
+	private Integer id;
+
+	private SchemaReference schemaReference;
+
+	private String definition;
+
+	public RegisteredSchema() {
+	}
+
+	public RegisteredSchema(Integer id, SchemaReference schemaReference, String definition) {
+		this.id = id;
+		this.schemaReference = schemaReference;
+		this.definition = definition;
+	}
+
+	public Integer getId() {
+		return this.id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public SchemaReference getSchemaReference() {
+		return this.schemaReference;
+	}
+
+	public void setSchemaReference(SchemaReference schemaReference) {
+		this.schemaReference = schemaReference;
+	}
+
+	public String getDefinition() {
+		return this.definition;
+	}
+
+	public void setDefinition(String definition) {
+		this.definition = definition;
+	}
+
+}
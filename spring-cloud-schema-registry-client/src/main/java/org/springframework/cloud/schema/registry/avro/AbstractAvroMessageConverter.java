@@ -16,21 +16,26 @@
 
 package org.springframework.cloud.schema.registry.avro;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumWriter;
-import org.apache.avro.io.Encoder;
-import org.apache.avro.io.EncoderFactory;
 
 import org.springframework.core.io.Resource;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.converter.AbstractMessageConverter;
 import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
 
 /**
@@ -44,12 +49,22 @@ import org.springframework.util.MimeType;
  */
 public abstract class AbstractAvroMessageConverter extends AbstractMessageConverter {
 
+	private static final int DEFAULT_BUFFER_SIZE = 32;
+
+	private static final int MAX_SIZE_ESTIMATES = 256;
+
 	/**
 	 * common parser will let user to import external schemas.
 	 */
 	private Schema.Parser schemaParser = new Schema.Parser();
 	private AvroSchemaServiceManager avroSchemaServiceManager;
 
+	private BoundedPool<EncodingBuffer> encodingBufferPool = new BoundedPool<>(0);
+
+	private final ConcurrentMap<Schema, EncodedSizeEstimate> sizeEstimates = new ConcurrentHashMap<>();
+
+	private ConverterMetrics converterMetrics = ConverterMetrics.NONE;
+
 	@Deprecated
 	protected AbstractAvroMessageConverter(MimeType supportedMimeType) {
 		this(Collections.singletonList(supportedMimeType), new AvroSchemaServiceManagerImpl());
@@ -75,6 +90,55 @@ public abstract class AbstractAvroMessageConverter extends AbstractMessageConver
 		return this.avroSchemaServiceManager;
 	}
 
+	/**
+	 * Set the maximum number of idle binary encoders, together with their output buffers,
+	 * retained for reuse by subsequent conversions. Default {@code 0}, which allocates
+	 * a new encoder and buffer for every message.
+	 * @param codecPoolSize the maximum number of pooled encoders
+	 */
+	public void setCodecPoolSize(int codecPoolSize) {
+		Assert.isTrue(codecPoolSize >= 0, "'codecPoolSize' must not be negative");
+		this.encodingBufferPool = new BoundedPool<>(codecPoolSize);
+	}
+
+	/**
+	 * Set the {@link ConverterMetrics} receiving the duration, payload size and outcome of
+	 * every conversion. Default {@link ConverterMetrics#NONE}.
+	 * @param converterMetrics the converter metrics
+	 */
+	public void setConverterMetrics(ConverterMetrics converterMetrics) {
+		Assert.notNull(converterMetrics, "'converterMetrics' cannot be null");
+		this.converterMetrics = converterMetrics;
+	}
+
+	protected ConverterMetrics converterMetrics() {
+		return this.converterMetrics;
+	}
+
+	/**
+	 * Return the running average of the encoded payload size, in bytes, of the messages
+	 * written so far with the given schema.
+	 * @param schema the writer schema
+	 * @return the average encoded size or {@code 0} if nothing has been written yet
+	 */
+	public int getEncodedSizeEstimate(Schema schema) {
+		EncodedSizeEstimate estimate = this.sizeEstimates.get(schema);
+		return (estimate != null) ? estimate.averageSize() : 0;
+	}
+
+	/**
+	 * Return the running average of the encoded payload size, in bytes, for the most
+	 * recently used writer schemas, keyed by the schema full name followed by a colon and
+	 * the hexadecimal fingerprint of the schema, so that every version of a record has
+	 * its own entry.
+	 * @return the average encoded sizes
+	 */
+	public Map<String, Integer> getEncodedSizeEstimates() {
+		Map<String, Integer> estimates = new HashMap<>();
+		this.sizeEstimates.values().forEach(estimate -> estimates.put(estimate.key(), estimate.averageSize()));
+		return estimates;
+	}
+
 	protected Schema parseSchema(Resource r) throws IOException {
 		return this.schemaParser.parse(r.getInputStream());
 	}
@@ -87,10 +151,26 @@ public abstract class AbstractAvroMessageConverter extends AbstractMessageConver
 
 	@Override
 	protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+		long start = System.nanoTime();
+		byte[] payload = (byte[]) message.getPayload();
 		Object result;
 		try {
-			byte[] payload = (byte[]) message.getPayload();
+			result = readPayload(message, payload, targetClass, conversionHint);
+		}
+		catch (RuntimeException ex) {
+			this.converterMetrics.conversion(ConverterMetrics.Operation.DESERIALIZE, System.nanoTime() - start,
+					payload.length, ex);
+			throw ex;
+		}
+		if (result != null) {
+			this.converterMetrics.conversion(ConverterMetrics.Operation.DESERIALIZE, System.nanoTime() - start,
+					payload.length, null);
+		}
+		return result;
+	}
 
+	private Object readPayload(Message<?> message, byte[] payload, Class<?> targetClass, Object conversionHint) {
+		try {
 			MimeType mimeType = getContentTypeResolver().resolve(message.getHeaders());
 			if (mimeType == null) {
 				if (conversionHint instanceof MimeType) {
@@ -104,33 +184,105 @@ public abstract class AbstractAvroMessageConverter extends AbstractMessageConver
 			Schema writerSchema = resolveWriterSchemaForDeserialization(mimeType);
 			Schema readerSchema = resolveReaderSchemaForDeserialization(targetClass);
 
-			result = avroSchemaServiceManager().readData(targetClass, payload, readerSchema, writerSchema);
+			return avroSchemaServiceManager().readData(targetClass, payload, readerSchema, writerSchema);
 		}
 		catch (IOException e) {
 			throw new MessageConversionException(message, "Failed to read payload", e);
 		}
-		return result;
 	}
 
 	@Override
 	protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		long start = System.nanoTime();
+		byte[] result;
+		try {
+			result = writePayload(payload, headers, conversionHint);
+		}
+		catch (RuntimeException ex) {
+			this.converterMetrics.conversion(ConverterMetrics.Operation.SERIALIZE, System.nanoTime() - start, 0, ex);
+			throw ex;
+		}
+		this.converterMetrics.conversion(ConverterMetrics.Operation.SERIALIZE, System.nanoTime() - start,
+				result.length, null);
+		return result;
+	}
+
+	private byte[] writePayload(Object payload, MessageHeaders headers, Object conversionHint) {
+		MimeType hintedContentType = null;
+		if (conversionHint instanceof MimeType) {
+			hintedContentType = (MimeType) conversionHint;
+		}
+		Schema schema = resolveSchemaForWriting(payload, headers, hintedContentType);
+		EncodedSizeEstimate sizeEstimate = getSizeEstimate(schema);
+		int expectedSize = (sizeEstimate != null) ? sizeEstimate.expectedCapacity() : 0;
+		EncodingBuffer buffer = this.encodingBufferPool.poll();
+		if (buffer == null) {
+			buffer = new EncodingBuffer(Math.max(expectedSize, DEFAULT_BUFFER_SIZE));
+		}
+		else {
+			buffer.ensureCapacity(Math.max(expectedSize, DEFAULT_BUFFER_SIZE));
+		}
 		try {
-			MimeType hintedContentType = null;
-			if (conversionHint instanceof MimeType) {
-				hintedContentType = (MimeType) conversionHint;
-			}
-			Schema schema = resolveSchemaForWriting(payload, headers, hintedContentType);
 			@SuppressWarnings("unchecked")
 			DatumWriter<Object> writer = avroSchemaServiceManager().getDatumWriter(payload.getClass(), schema);
-			Encoder encoder = EncoderFactory.get().binaryEncoder(baos, null);
+			BinaryEncoder encoder = buffer.encoder();
 			writer.write(payload, encoder);
 			encoder.flush();
 		}
 		catch (IOException e) {
 			throw new MessageConversionException("Failed to write payload", e);
 		}
-		return baos.toByteArray();
+		if (sizeEstimate != null) {
+			sizeEstimate.record(buffer.size());
+		}
+		byte[] result = buffer.toByteArrayOrDetach();
+		// only buffers that completed a conversion are clean enough to be reused
+		if (this.encodingBufferPool.isRetaining()) {
+			EncodingBuffer reusable = buffer.recycle();
+			if (reusable.isRetainable()) {
+				this.encodingBufferPool.offer(reusable);
+			}
+		}
+		return result;
+	}
+
+	private EncodedSizeEstimate getSizeEstimate(Schema schema) {
+		if (schema == null) {
+			return null;
+		}
+		EncodedSizeEstimate estimate = this.sizeEstimates.get(schema);
+		if (estimate == null) {
+			synchronized (this.sizeEstimates) {
+				estimate = this.sizeEstimates.get(schema);
+				if (estimate == null) {
+					if (this.sizeEstimates.size() >= MAX_SIZE_ESTIMATES) {
+						evictLeastRecentlyUsedSizeEstimate();
+					}
+					String fingerprint = Long.toHexString(
+							SchemaNormalization.fingerprint64(schema.toString().getBytes(StandardCharsets.UTF_8)));
+					estimate = new EncodedSizeEstimate(schema.getFullName(), fingerprint);
+					this.sizeEstimates.put(schema, estimate);
+					this.converterMetrics.sizeEstimateAdded(estimate.schemaName(), estimate.fingerprint(),
+							estimate::averageSize);
+				}
+			}
+		}
+		else {
+			estimate.touch();
+		}
+		return estimate;
+	}
+
+	private void evictLeastRecentlyUsedSizeEstimate() {
+		Map.Entry<Schema, EncodedSizeEstimate> eldest = null;
+		for (Map.Entry<Schema, EncodedSizeEstimate> entry : this.sizeEstimates.entrySet()) {
+			if (eldest == null || entry.getValue().lastUsed() - eldest.getValue().lastUsed() < 0) {
+				eldest = entry;
+			}
+		}
+		if (eldest != null && this.sizeEstimates.remove(eldest.getKey(), eldest.getValue())) {
+			this.converterMetrics.sizeEstimateRemoved(eldest.getValue().schemaName(), eldest.getValue().fingerprint());
+		}
 	}
 
 	protected abstract Schema resolveSchemaForWriting(Object payload, MessageHeaders headers, MimeType hintedContentType);
@@ -18,6 +18,10 @@ package org.springframework.cloud.schema.registry.avro;
 
 import java.lang.reflect.Constructor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -25,10 +29,12 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.schema.registry.client.ReactiveSchemaRegistryClient;
 import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 
@@ -47,12 +53,17 @@ import org.springframework.util.ReflectionUtils;
 @Import(AvroSchemaServiceManagerImpl.class)
 public class AvroMessageConverterAutoConfiguration {
 
+	private static final boolean MICROMETER_PRESENT = ClassUtils.isPresent(
+			"io.micrometer.core.instrument.MeterRegistry", AvroMessageConverterAutoConfiguration.class.getClassLoader());
+
 	@Bean
 	@ConditionalOnMissingBean(AvroSchemaRegistryClientMessageConverter.class)
 	public AvroSchemaRegistryClientMessageConverter avroSchemaMessageConverter(
 			SchemaRegistryClient schemaRegistryClient,
 			AvroSchemaServiceManager avroSchemaServiceManager,
-			AvroMessageConverterProperties avroMessageConverterProperties) {
+			AvroMessageConverterProperties avroMessageConverterProperties,
+			ObjectProvider<ReactiveSchemaRegistryClient> reactiveSchemaRegistryClient,
+			BeanFactory beanFactory) {
 
 		AvroSchemaRegistryClientMessageConverter avroSchemaRegistryClientMessageConverter =
 				new AvroSchemaRegistryClientMessageConverter(schemaRegistryClient, cacheManager(), avroSchemaServiceManager);
@@ -83,6 +94,24 @@ public class AvroMessageConverterAutoConfiguration {
 		}
 		avroSchemaRegistryClientMessageConverter.setSubjectNamePrefix(avroMessageConverterProperties.getSubjectNamePrefix());
 
+		avroSchemaRegistryClientMessageConverter.setCodecPoolSize(avroMessageConverterProperties.getCodecPoolSize());
+		if (avroSchemaServiceManager instanceof AvroSchemaServiceManagerImpl) {
+			((AvroSchemaServiceManagerImpl) avroSchemaServiceManager)
+					.setDecoderPoolSize(avroMessageConverterProperties.getCodecPoolSize());
+		}
+
+		avroSchemaRegistryClientMessageConverter.setPrewarmSubjects(avroMessageConverterProperties.getPrewarmSubjects());
+		avroSchemaRegistryClientMessageConverter.setPrewarmSchemaLocations(
+				avroMessageConverterProperties.isPrewarmSchemaLocations());
+		avroSchemaRegistryClientMessageConverter.setPrewarmParallelism(
+				avroMessageConverterProperties.getPrewarmParallelism());
+
+		reactiveSchemaRegistryClient.ifAvailable(avroSchemaRegistryClientMessageConverter::setReactiveSchemaRegistryClient);
+
+		if (MICROMETER_PRESENT) {
+			avroSchemaRegistryClientMessageConverter.setConverterMetrics(ConverterMetricsFactory.create(beanFactory));
+		}
+
 		return avroSchemaRegistryClientMessageConverter;
 	}
 
@@ -92,4 +121,19 @@ public class AvroMessageConverterAutoConfiguration {
 		return new ConcurrentMapCacheManager();
 	}
 
+	/**
+	 * Isolates the references to Micrometer, which is an optional dependency.
+	 */
+	private static final class ConverterMetricsFactory {
+
+		private ConverterMetricsFactory() {
+		}
+
+		static ConverterMetrics create(BeanFactory beanFactory) {
+			MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfUnique();
+			return (registry != null) ? new MicrometerConverterMetrics(registry) : ConverterMetrics.NONE;
+		}
+
+	}
+
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.schema.registry.avro;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
@@ -54,6 +57,30 @@ public class AvroMessageConverterProperties {
 
 	private Class<? extends SubjectNamingStrategy> subjectNamingStrategy = DefaultSubjectNamingStrategy.class;
 
+	/**
+	 * Maximum number of idle Avro binary encoders, decoders and output buffers retained
+	 * for reuse across messages. Set to {@code 0} (the default) to allocate them for
+	 * every message.
+	 */
+	private int codecPoolSize;
+
+	/**
+	 * Subjects whose registered versions are fetched from the schema registry on startup,
+	 * so that the first message of each version does not have to wait for them.
+	 */
+	private List<String> prewarmSubjects = new ArrayList<>();
+
+	/**
+	 * Whether to also pre-warm the registered versions of the subjects of all schemas
+	 * registered from {@link #schemaLocations} and {@link #schemaImports}.
+	 */
+	private boolean prewarmSchemaLocations;
+
+	/**
+	 * Maximum number of subjects pre-warmed concurrently.
+	 */
+	private int prewarmParallelism = 4;
+
 	public Resource getReaderSchema() {
 		return this.readerSchema;
 	}
@@ -112,4 +139,39 @@ public class AvroMessageConverterProperties {
 	public void setSubjectNamePrefix(String subjectNamePrefix) {
 		this.subjectNamePrefix = subjectNamePrefix;
 	}
+
+	public int getCodecPoolSize() {
+		return this.codecPoolSize;
+	}
+
+	public void setCodecPoolSize(int codecPoolSize) {
+		Assert.isTrue(codecPoolSize >= 0, "cannot be negative");
+		this.codecPoolSize = codecPoolSize;
+	}
+
+	public List<String> getPrewarmSubjects() {
+		return this.prewarmSubjects;
+	}
+
+	public void setPrewarmSubjects(List<String> prewarmSubjects) {
+		Assert.notNull(prewarmSubjects, "cannot be null");
+		this.prewarmSubjects = prewarmSubjects;
+	}
+
+	public boolean isPrewarmSchemaLocations() {
+		return this.prewarmSchemaLocations;
+	}
+
+	public void setPrewarmSchemaLocations(boolean prewarmSchemaLocations) {
+		this.prewarmSchemaLocations = prewarmSchemaLocations;
+	}
+
+	public int getPrewarmParallelism() {
+		return this.prewarmParallelism;
+	}
+
+	public void setPrewarmParallelism(int prewarmParallelism) {
+		Assert.isTrue(prewarmParallelism > 0, "must be positive");
+		this.prewarmParallelism = prewarmParallelism;
+	}
 }
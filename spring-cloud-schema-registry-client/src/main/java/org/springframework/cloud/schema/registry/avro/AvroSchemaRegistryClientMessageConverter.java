@@ -17,30 +17,48 @@
 package org.springframework.cloud.schema.registry.avro;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericContainer;
+import org.apache.avro.specific.SpecificData;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.cloud.schema.registry.ParsedSchema;
+import org.springframework.cloud.schema.registry.RegisteredSchema;
 import org.springframework.cloud.schema.registry.SchemaNotFoundException;
 import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
 import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.cloud.schema.registry.client.ReactiveSchemaRegistryClient;
 import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.MimeType;
 import org.springframework.util.ObjectUtils;
 
@@ -66,6 +84,9 @@ import org.springframework.util.ObjectUtils;
  * </ul>
  * </li>
  *
+ * Mutable message headers get their content type replaced, while immutable ones only
+ * get it if they do not already carry one.
+ *
  * When converting from a message, the converter will parse the content-type and use it to
  * fetch and cache the writer schema using the provided {@link SchemaRegistryClient}.
  *
@@ -116,11 +137,33 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 	private static final AvroSchemaServiceManager defaultAvroSchemaServiceManager =
 			new AvroSchemaServiceManagerImpl();
 
+	private static final String AVRO_SUFFIX = "+" + AVRO_FORMAT;
+
+	private static final int CONTENT_TYPE_CACHE_SIZE = 256;
+
 	private final CacheManager cacheManager;
 
 	protected Resource[] schemaImports = new Resource[] {};
 
-	private Pattern versionedSchema;
+	private final ConcurrentLruCache<MimeType, ContentTypeResolution> contentTypeCache =
+			new ConcurrentLruCache<>(CONTENT_TYPE_CACHE_SIZE,
+					mimeType -> new ContentTypeResolution(parseSchemaReference(mimeType)));
+
+	/**
+	 * Content types resolved by pre-warming, kept apart from the bounded cache so that
+	 * pre-warming more versions than it holds does not evict them.
+	 */
+	private final ConcurrentMap<MimeType, ContentTypeResolution> prewarmedContentTypes = new ConcurrentHashMap<>();
+
+	/**
+	 * Content type resolved for the payload being converted on the current thread, handed
+	 * over from {@link #resolveSchemaForWriting} to {@link #getDefaultContentType}.
+	 */
+	private final ThreadLocal<MimeType> writtenContentType = new ThreadLocal<>();
+
+	private final InFlightRequests<Schema, MimeType> pendingRegistrations = new InFlightRequests<>();
+
+	private final InFlightRequests<SchemaReference, ParsedSchema> pendingFetches = new InFlightRequests<>();
 
 	private boolean dynamicSchemaGenerationEnabled;
 
@@ -130,12 +173,20 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 
 	private SchemaRegistryClient schemaRegistryClient;
 
+	private ReactiveSchemaRegistryClient reactiveSchemaRegistryClient;
+
 	private String prefix = "vnd";
 
 	private String subjectNamePrefix;
 
 	private SubjectNamingStrategy subjectNamingStrategy;
 
+	private Collection<String> prewarmSubjects = Collections.emptyList();
+
+	private boolean prewarmSchemaLocations;
+
+	private int prewarmParallelism = 4;
+
 	/**
 	 * Creates a new instance, configuring it with {@link SchemaRegistryClient} and
 	 * {@link CacheManager}.
@@ -225,6 +276,17 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 		}
 	}
 
+	/**
+	 * Set the {@link ReactiveSchemaRegistryClient} used by
+	 * {@link #prefetchWriterSchema(MimeType)} and {@link #prefetchRegistration(Object)}.
+	 * If not set, these delegate to the blocking {@link SchemaRegistryClient} on a
+	 * {@link Schedulers#boundedElastic() bounded elastic} scheduler instead.
+	 * @param reactiveSchemaRegistryClient the reactive client
+	 */
+	public void setReactiveSchemaRegistryClient(ReactiveSchemaRegistryClient reactiveSchemaRegistryClient) {
+		this.reactiveSchemaRegistryClient = reactiveSchemaRegistryClient;
+	}
+
 	public void setSubjectNamingStrategy(SubjectNamingStrategy subjectNamingStrategy) {
 		this.subjectNamingStrategy = subjectNamingStrategy;
 	}
@@ -233,10 +295,40 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 		this.subjectNamePrefix = subjectNamePrefix;
 	}
 
+	/**
+	 * Set the subjects whose registered versions are fetched from the schema registry on
+	 * startup, so that the first message of each version does not have to wait for them.
+	 * @param prewarmSubjects the subjects to pre-warm
+	 */
+	public void setPrewarmSubjects(Collection<String> prewarmSubjects) {
+		Assert.notNull(prewarmSubjects, "'prewarmSubjects' cannot be null");
+		this.prewarmSubjects = prewarmSubjects;
+	}
+
+	/**
+	 * Whether to also pre-warm the registered versions of the subjects of all schemas
+	 * registered from the configured schema locations and imports. Default 'false'.
+	 * @param prewarmSchemaLocations true if these subjects should be pre-warmed
+	 */
+	public void setPrewarmSchemaLocations(boolean prewarmSchemaLocations) {
+		this.prewarmSchemaLocations = prewarmSchemaLocations;
+	}
+
+	/**
+	 * Set the maximum number of subjects pre-warmed concurrently. Default 4.
+	 * @param prewarmParallelism the number of subjects pre-warmed concurrently
+	 */
+	public void setPrewarmParallelism(int prewarmParallelism) {
+		Assert.isTrue(prewarmParallelism > 0, "'prewarmParallelism' must be positive");
+		this.prewarmParallelism = prewarmParallelism;
+	}
+
 	@Override
 	public void afterPropertiesSet() {
-		this.versionedSchema = Pattern.compile("application/" + this.prefix
-				+ "\\.([\\p{Alnum}\\$\\.]+)\\.v(\\p{Digit}+)\\+" + AVRO_FORMAT);
+		this.contentTypeCache.clear();
+		this.prewarmedContentTypes.clear();
+		Set<String> subjectsToPrewarm = new LinkedHashSet<>(this.prewarmSubjects);
+		List<Schema> schemasToRegister = new ArrayList<>();
 
 		Stream.of(this.schemaImports, this.schemaLocations)
 				.filter(arr -> !ObjectUtils.isEmpty(arr))
@@ -251,11 +343,14 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 				.forEach(resource -> {
 					try {
 						Schema schema = parseSchema(resource);
-						if (schema.getType().equals(Schema.Type.UNION)) {
-							schema.getTypes().forEach(innerSchema -> registerSchema(resource, innerSchema));
-						}
-						else {
-							registerSchema(resource, schema);
+						List<Schema> schemas = schema.getType().equals(Schema.Type.UNION)
+								? schema.getTypes() : Collections.singletonList(schema);
+						for (Schema schemaToRegister : schemas) {
+							if (this.logger.isInfoEnabled()) {
+								this.logger.info("Resource " + resource.getFilename() + " parsed into schema "
+										+ schemaToRegister.getNamespace() + "." + schemaToRegister.getName());
+							}
+							schemasToRegister.add(schemaToRegister);
 						}
 					}
 					catch (IOException e) {
@@ -265,12 +360,92 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 					}
 				});
 
+		for (String subject : registerSchemas(schemasToRegister)) {
+			if (this.prewarmSchemaLocations) {
+				subjectsToPrewarm.add(subject);
+			}
+		}
+
 		if (this.cacheManager instanceof NoOpCacheManager) {
 			this.logger.warn("Schema caching is effectively disabled "
 					+ "since configured cache manager is a NoOpCacheManager. If this was not "
 					+ "the intention, please provide the appropriate instance of CacheManager "
 					+ "(i.e., ConcurrentMapCacheManager).");
 		}
+
+		prewarm(subjectsToPrewarm);
+	}
+
+	/**
+	 * Fetch all registered versions of the given subjects, using up to
+	 * {@link #setPrewarmParallelism(int) prewarmParallelism} threads, and load them into
+	 * the reference cache as well as the content type and reader caches used when
+	 * converting messages. Failures are logged rather than failing the startup, as the
+	 * schemas are fetched again on demand.
+	 */
+	private void prewarm(Set<String> subjects) {
+		if (subjects.isEmpty()) {
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.prewarmParallelism, subjects.size()),
+				new CustomizableThreadFactory("avro-schema-prewarm-"));
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (String subject : subjects) {
+				results.add(executor.submit(() -> prewarm(subject)));
+			}
+			int schemas = 0;
+			for (Future<Integer> result : results) {
+				try {
+					schemas += result.get();
+				}
+				catch (ExecutionException ex) {
+					if (this.logger.isWarnEnabled()) {
+						this.logger.warn("Failed to pre-warm schemas", ex.getCause());
+					}
+				}
+			}
+			if (this.logger.isInfoEnabled()) {
+				this.logger.info("Pre-warmed " + schemas + " schemas of subjects " + subjects);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private int prewarm(String subject) {
+		List<RegisteredSchema> registeredSchemas = this.schemaRegistryClient.fetchAll(subject, AVRO_FORMAT);
+		if (registeredSchemas.isEmpty() && this.logger.isWarnEnabled()) {
+			this.logger.warn("No registered versions of subject '" + subject + "' to pre-warm; either it has "
+					+ "none or " + this.schemaRegistryClient.getClass().getSimpleName()
+					+ " does not support fetching all versions of a subject");
+		}
+		for (RegisteredSchema registeredSchema : registeredSchemas) {
+			SchemaReference schemaReference = registeredSchema.getSchemaReference();
+			ParsedSchema parsedSchema = new ParsedSchema(new Schema.Parser().parse(registeredSchema.getDefinition()));
+			Cache.ValueWrapper existing = this.getCache(REFERENCE_CACHE_NAME).putIfAbsent(schemaReference, parsedSchema);
+			if (existing != null && existing.get() instanceof ParsedSchema) {
+				parsedSchema = (ParsedSchema) existing.get();
+			}
+			if (this.cacheManager instanceof NoOpCacheManager) {
+				continue;
+			}
+			Schema writerSchema = parsedSchema.getSchema();
+			ContentTypeResolution resolution = new ContentTypeResolution(schemaReference);
+			resolution.writerSchema = writerSchema;
+			this.prewarmedContentTypes.put(MimeType.valueOf(toContentType(schemaReference)), resolution);
+			Class<?> type = (writerSchema.getType() == Schema.Type.RECORD)
+					? SpecificData.get().getClass(writerSchema) : null;
+			if (type != null && avroSchemaServiceManager() instanceof AvroSchemaServiceManagerImpl) {
+				((AvroSchemaServiceManagerImpl) avroSchemaServiceManager())
+						.prepareDatumReader(type, this.readerSchema, writerSchema);
+			}
+		}
+		return registeredSchemas.size();
 	}
 
 	protected String toSubject(String subjectNamePrefix, Schema schema) {
@@ -292,51 +467,207 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 		return DEFAULT_AVRO_MIME_TYPE.includes(mimeType);
 	}
 
+	/**
+	 * Return the content type resolved for the payload that was just written on the
+	 * calling thread, which is published when the message headers are immutable and do
+	 * not already carry a content type.
+	 */
+	@Override
+	@Nullable
+	protected MimeType getDefaultContentType(Object payload) {
+		MimeType contentType = this.writtenContentType.get();
+		if (contentType != null) {
+			this.writtenContentType.remove();
+			return contentType;
+		}
+		return super.getDefaultContentType(payload);
+	}
+
 	@Override
 	protected Schema resolveSchemaForWriting(Object payload, MessageHeaders headers,
 			MimeType hintedContentType) {
 
 		Schema schema;
 		schema = extractSchemaForWriting(payload);
-		ParsedSchema parsedSchema = this.getCache(REFERENCE_CACHE_NAME).get(schema, ParsedSchema.class);
+		ParsedSchema parsedSchema = getParsedSchema(schema);
+
+		MimeType contentType = parsedSchema.getContentType(this.prefix);
+		if (contentType == null) {
+			ParsedSchema schemaToRegister = parsedSchema;
+			contentType = this.pendingRegistrations.execute(schema, () -> register(schemaToRegister));
+		}
 
+		setContentTypeHeader(headers, contentType);
+		this.writtenContentType.set(contentType);
+
+		return schema;
+	}
+
+	/**
+	 * Register the schema of the given payload without blocking the calling thread, so
+	 * that converting payloads of the same type no longer requires a call to the
+	 * registry.
+	 * @param payload a payload to be converted later on
+	 * @return a {@link Mono} emitting the content type published for the payload
+	 */
+	public Mono<String> prefetchRegistration(Object payload) {
+		return Mono.defer(() -> {
+			Schema schema = extractSchemaForWriting(payload);
+			ParsedSchema parsedSchema = getParsedSchema(schema);
+			MimeType contentType = parsedSchema.getContentType(this.prefix);
+			if (contentType != null) {
+				return Mono.just(contentType.toString());
+			}
+			if (this.reactiveSchemaRegistryClient == null) {
+				return Mono.fromCallable(() -> this.pendingRegistrations.execute(schema, () -> register(parsedSchema))
+						.toString())
+						.subscribeOn(Schedulers.boundedElastic());
+			}
+			return Mono.fromFuture(() -> this.pendingRegistrations.executeAsync(schema, () ->
+					this.reactiveSchemaRegistryClient.register(toSubject(this.subjectNamePrefix, schema), AVRO_FORMAT,
+							parsedSchema.getRepresentation())
+							.map(response -> {
+								parsedSchema.setRegistration(response);
+								return register(parsedSchema);
+							})
+							.toFuture()))
+					.map(MimeType::toString);
+		});
+	}
+
+	/**
+	 * Resolve the writer schema referenced by the given content type without blocking
+	 * the calling thread, so that converting messages with that content type no longer
+	 * requires a call to the registry.
+	 * @param contentType the content type of an inbound message
+	 * @return a {@link Mono} emitting the writer schema, or the reader schema if the
+	 * content type does not reference one
+	 */
+	public Mono<Schema> prefetchWriterSchema(MimeType contentType) {
+		return Mono.defer(() -> {
+			ContentTypeResolution resolution = resolveContentType(contentType);
+			if (resolution.writerSchema != null) {
+				return Mono.just(resolution.writerSchema);
+			}
+			if (this.reactiveSchemaRegistryClient == null) {
+				return Mono.fromCallable(() -> resolveWriterSchemaForDeserialization(contentType))
+						.subscribeOn(Schedulers.boundedElastic());
+			}
+			SchemaReference schemaReference = resolution.schemaReference;
+			if (schemaReference == null) {
+				return Mono.justOrEmpty(this.readerSchema);
+			}
+			ParsedSchema parsedSchema = getCached(REFERENCE_CACHE_NAME, schemaReference, ParsedSchema.class);
+			Mono<ParsedSchema> result = (parsedSchema != null) ? Mono.just(parsedSchema)
+					: Mono.fromFuture(() -> this.pendingFetches.executeAsync(schemaReference,
+							() -> fetchReactively(schemaReference).toFuture()));
+			return result.map(schema -> {
+				if (!(this.cacheManager instanceof NoOpCacheManager)) {
+					resolution.writerSchema = schema.getSchema();
+				}
+				return schema.getSchema();
+			});
+		});
+	}
+
+	/**
+	 * Fetch the schema for the given reference without blocking, unless a concurrent
+	 * caller already cached it.
+	 */
+	private Mono<ParsedSchema> fetchReactively(SchemaReference schemaReference) {
+		ParsedSchema cached = this.getCache(REFERENCE_CACHE_NAME).get(schemaReference, ParsedSchema.class);
+		if (cached != null) {
+			return Mono.just(cached);
+		}
+		return this.reactiveSchemaRegistryClient.fetch(schemaReference)
+				.map(schemaContent -> {
+					ParsedSchema parsedSchema = new ParsedSchema(new Schema.Parser().parse(schemaContent));
+					this.getCache(REFERENCE_CACHE_NAME).putIfAbsent(schemaReference, parsedSchema);
+					return parsedSchema;
+				});
+	}
+
+	private ParsedSchema getParsedSchema(Schema schema) {
+		ParsedSchema parsedSchema = getCached(REFERENCE_CACHE_NAME, schema, ParsedSchema.class);
 		if (parsedSchema == null) {
 			parsedSchema = new ParsedSchema(schema);
-			this.getCache(REFERENCE_CACHE_NAME).putIfAbsent(schema, parsedSchema);
+			Cache.ValueWrapper existing = this.getCache(REFERENCE_CACHE_NAME).putIfAbsent(schema, parsedSchema);
+			if (existing != null && existing.get() instanceof ParsedSchema) {
+				parsedSchema = (ParsedSchema) existing.get();
+			}
 		}
+		return parsedSchema;
+	}
 
-		if (parsedSchema.getRegistration() == null) {
-			SchemaRegistrationResponse response = this.schemaRegistryClient.register(toSubject(this.subjectNamePrefix, schema),
-					AVRO_FORMAT, parsedSchema.getRepresentation());
-			parsedSchema.setRegistration(response);
-
+	/**
+	 * Register the given schema, unless a concurrent caller already did, and derive the
+	 * content type for payloads written with it.
+	 */
+	private MimeType register(ParsedSchema parsedSchema) {
+		MimeType contentType = parsedSchema.getContentType(this.prefix);
+		if (contentType == null) {
+			if (parsedSchema.getRegistration() == null) {
+				SchemaRegistrationResponse response = this.schemaRegistryClient.register(
+						toSubject(this.subjectNamePrefix, parsedSchema.getSchema()), AVRO_FORMAT,
+						parsedSchema.getRepresentation());
+				parsedSchema.setRegistration(response);
+			}
+			contentType = MimeType.valueOf(toContentType(parsedSchema.getRegistration().getSchemaReference()));
+			parsedSchema.setContentType(this.prefix, contentType);
 		}
+		return contentType;
+	}
 
-		SchemaReference schemaReference = parsedSchema.getRegistration().getSchemaReference();
+	private String toContentType(SchemaReference schemaReference) {
+		return "application/" + this.prefix + "." + schemaReference.getSubject()
+				+ ".v" + schemaReference.getVersion() + AVRO_SUFFIX;
+	}
 
-		DirectFieldAccessor dfa = new DirectFieldAccessor(headers);
-		@SuppressWarnings("unchecked")
-		Map<String, Object> _headers = (Map<String, Object>) dfa.getPropertyValue("headers");
-		_headers.put(MessageHeaders.CONTENT_TYPE, "application/" + this.prefix + "." + schemaReference.getSubject()
-				+ ".v" + schemaReference.getVersion() + "+" + AVRO_FORMAT);
+	/**
+	 * Fetch the schema for the given reference, unless a concurrent caller already
+	 * cached it.
+	 */
+	private ParsedSchema fetch(SchemaReference schemaReference) {
+		ParsedSchema parsedSchema = this.getCache(REFERENCE_CACHE_NAME).get(schemaReference, ParsedSchema.class);
+		if (parsedSchema == null) {
+			String schemaContent = this.schemaRegistryClient.fetch(schemaReference);
+			if (schemaContent != null) {
+				Schema schema = new Schema.Parser().parse(schemaContent);
+				parsedSchema = new ParsedSchema(schema);
+				this.getCache(REFERENCE_CACHE_NAME).putIfAbsent(schemaReference, parsedSchema);
+			}
+		}
+		return parsedSchema;
+	}
 
-		return schema;
+	/**
+	 * Replace the content type of mutable headers with the resolved one. Immutable
+	 * headers get it through {@link #getDefaultContentType(Object)} instead.
+	 */
+	private static void setContentTypeHeader(@Nullable MessageHeaders headers, MimeType contentType) {
+		MessageHeaderAccessor accessor = (headers != null)
+				? MessageHeaderAccessor.getAccessor(headers, MessageHeaderAccessor.class) : null;
+		if (accessor != null && accessor.isMutable()) {
+			accessor.setHeader(MessageHeaders.CONTENT_TYPE, contentType.toString());
+		}
 	}
 
 	@Override
 	protected Schema resolveWriterSchemaForDeserialization(MimeType mimeType) {
-		SchemaReference schemaReference = extractSchemaReference(mimeType);
+		ContentTypeResolution resolution = resolveContentType(mimeType);
+		if (resolution.writerSchema != null) {
+			return resolution.writerSchema;
+		}
+		SchemaReference schemaReference = resolution.schemaReference;
 		if (schemaReference != null) {
-			ParsedSchema parsedSchema = this.getCache(REFERENCE_CACHE_NAME).get(schemaReference, ParsedSchema.class);
+			ParsedSchema parsedSchema = getCached(REFERENCE_CACHE_NAME, schemaReference, ParsedSchema.class);
 			if (parsedSchema == null) {
-				String schemaContent = this.schemaRegistryClient.fetch(schemaReference);
-				if (schemaContent != null) {
-					Schema schema = new Schema.Parser().parse(schemaContent);
-					parsedSchema = new ParsedSchema(schema);
-					this.getCache(REFERENCE_CACHE_NAME).putIfAbsent(schemaReference, parsedSchema);
-				}
+				parsedSchema = this.pendingFetches.execute(schemaReference, () -> fetch(schemaReference));
 			}
 			if (parsedSchema != null) {
+				if (!(this.cacheManager instanceof NoOpCacheManager)) {
+					resolution.writerSchema = parsedSchema.getSchema();
+				}
 				return parsedSchema.getSchema();
 			}
 		}
@@ -360,7 +691,7 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 			}
 		}
 		else {
-			schema = this.getCache(REFLECTION_CACHE_NAME).get(payload.getClass().getName(), Schema.class);
+			schema = getCached(REFLECTION_CACHE_NAME, payload.getClass().getName(), Schema.class);
 			if (schema == null) {
 				if (!isDynamicSchemaGenerationEnabled()) {
 					throw new SchemaNotFoundException(String.format(
@@ -376,30 +707,91 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 		return schema;
 	}
 
-	private void registerSchema(Resource schemaLocation, Schema schema) {
-		if (this.logger.isInfoEnabled()) {
-			this.logger.info("Resource " + schemaLocation.getFilename() + " parsed into schema "
-					+ schema.getNamespace() + "." + schema.getName());
+	/**
+	 * Register the schemas found in the configured schema locations and imports with a
+	 * single call to the schema registry client.
+	 * @param schemas the schemas to register
+	 * @return the subjects of the registered schemas
+	 */
+	private List<String> registerSchemas(List<Schema> schemas) {
+		List<String> subjects = new ArrayList<>(schemas.size());
+		if (schemas.isEmpty()) {
+			return subjects;
 		}
+		List<SchemaRegistration> registrations = new ArrayList<>(schemas.size());
+		for (Schema schema : schemas) {
+			String subject = toSubject(this.subjectNamePrefix, schema);
+			subjects.add(subject);
+			registrations.add(new SchemaRegistration(subject, AVRO_FORMAT, schema.toString()));
+		}
+		List<SchemaRegistrationResponse> responses = this.schemaRegistryClient.registerAll(registrations);
 
-		this.schemaRegistryClient.register(toSubject(this.subjectNamePrefix, schema), AVRO_FORMAT, schema.toString());
+		for (int i = 0; i < schemas.size(); i++) {
+			Schema schema = schemas.get(i);
+			if (this.logger.isInfoEnabled()) {
+				this.logger.info("Schema " + schema.getName() + " registered with id " + responses.get(i).getId());
+			}
+			this.getCache(REFLECTION_CACHE_NAME).put(schema.getNamespace() + "." + schema.getName(), schema);
+		}
+		return subjects;
+	}
 
-		if (this.logger.isInfoEnabled()) {
-			this.logger.info("Schema " + schema.getName() + " registered with id " + schema);
+	/**
+	 * Parse a content type of the form {@code application/[prefix].[subject].v[version]+avro}.
+	 * @param mimeType the content type
+	 * @return the schema reference or {@code null} if the content type does not match
+	 */
+	private SchemaReference parseSchemaReference(MimeType mimeType) {
+		if (!"application".equals(mimeType.getType())) {
+			return null;
+		}
+		String subtype = mimeType.getSubtype();
+		int subjectStart = this.prefix.length() + 1;
+		int versionEnd = subtype.length() - AVRO_SUFFIX.length();
+		if (versionEnd <= subjectStart || !subtype.startsWith(this.prefix)
+				|| subtype.charAt(subjectStart - 1) != '.' || !subtype.endsWith(AVRO_SUFFIX)) {
+			return null;
+		}
+		int versionStart = versionEnd;
+		while (versionStart > subjectStart && isAsciiDigit(subtype.charAt(versionStart - 1))) {
+			versionStart--;
+		}
+		int subjectEnd = versionStart - 2;
+		if (versionStart == versionEnd || subjectEnd <= subjectStart
+				|| subtype.charAt(versionStart - 1) != 'v' || subtype.charAt(subjectEnd) != '.') {
+			return null;
+		}
+		for (int i = subjectStart; i < subjectEnd; i++) {
+			char c = subtype.charAt(i);
+			if (!isAsciiDigit(c) && !isAsciiLetter(c) && c != '$' && c != '.') {
+				return null;
+			}
 		}
+		String subject = subtype.substring(subjectStart, subjectEnd);
+		int version = Integer.parseInt(subtype.substring(versionStart, versionEnd));
+		return new SchemaReference(subject, version, AVRO_FORMAT);
+	}
 
-		this.getCache(REFLECTION_CACHE_NAME).put(schema.getNamespace() + "." + schema.getName(), schema);
+	private static boolean isAsciiDigit(char c) {
+		return c >= '0' && c <= '9';
 	}
 
-	private SchemaReference extractSchemaReference(MimeType mimeType) {
-		SchemaReference schemaReference = null;
-		Matcher schemaMatcher = this.versionedSchema.matcher(mimeType.toString());
-		if (schemaMatcher.find()) {
-			String subject = schemaMatcher.group(1);
-			Integer version = Integer.parseInt(schemaMatcher.group(2));
-			schemaReference = new SchemaReference(subject, version, AVRO_FORMAT);
-		}
-		return schemaReference;
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	/**
+	 * Look up a value in the given cache, recording whether it was found.
+	 */
+	private <T> T getCached(String cacheName, Object key, Class<T> type) {
+		T value = this.getCache(cacheName).get(key, type);
+		converterMetrics().cacheAccess(cacheName, value != null);
+		return value;
+	}
+
+	private ContentTypeResolution resolveContentType(MimeType contentType) {
+		ContentTypeResolution resolution = this.prewarmedContentTypes.get(contentType);
+		return (resolution != null) ? resolution : this.contentTypeCache.get(contentType);
 	}
 
 	private Cache getCache(String name) {
@@ -410,4 +802,20 @@ public class AvroSchemaRegistryClientMessageConverter extends AbstractAvroMessag
 		return cache;
 	}
 
+	/**
+	 * Outcome of parsing an inbound content type, together with the writer schema it
+	 * refers to once that has been resolved.
+	 */
+	private static final class ContentTypeResolution {
+
+		private final SchemaReference schemaReference;
+
+		private volatile Schema writerSchema;
+
+		ContentTypeResolution(SchemaReference schemaReference) {
+			this.schemaReference = schemaReference;
+		}
+
+	}
+
 }
@@ -22,9 +22,9 @@ import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.reflect.ReflectData;
 import org.apache.avro.reflect.ReflectDatumReader;
@@ -54,8 +54,62 @@ import org.springframework.stereotype.Component;
 @Component
 public class AvroSchemaServiceManagerImpl implements AvroSchemaServiceManager {
 
+	/**
+	 * Default maximum number of {@link DatumWriter} instances kept in the writer cache.
+	 */
+	public static final int DEFAULT_WRITER_CACHE_SIZE = 256;
+
+	/**
+	 * Default maximum number of {@link DatumReader} instances kept in the reader cache.
+	 */
+	public static final int DEFAULT_READER_CACHE_SIZE = 256;
+
+	private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
 	protected final Log logger = LogFactory.getLog(this.getClass());
 
+	private final CountingLruCache<WriterKey, DatumWriter<Object>> writerCache;
+
+	private final CountingLruCache<ReaderKey, DatumReader<Object>> readerCache;
+
+	private BoundedPool<BinaryDecoder> decoderPool = new BoundedPool<>(0);
+
+	public AvroSchemaServiceManagerImpl() {
+		this(DEFAULT_WRITER_CACHE_SIZE, DEFAULT_READER_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a new instance whose {@link DatumWriter} cache holds at most
+	 * {@code writerCacheSize} entries.
+	 * @param writerCacheSize maximum number of cached writers, {@code 0} disables caching
+	 */
+	public AvroSchemaServiceManagerImpl(int writerCacheSize) {
+		this(writerCacheSize, DEFAULT_READER_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a new instance with bounded {@link DatumWriter} and {@link DatumReader}
+	 * caches.
+	 * @param writerCacheSize maximum number of cached writers, {@code 0} disables caching
+	 * @param readerCacheSize maximum number of cached readers, {@code 0} disables caching
+	 */
+	public AvroSchemaServiceManagerImpl(int writerCacheSize, int readerCacheSize) {
+		this.writerCache = new CountingLruCache<>(writerCacheSize,
+				key -> createDatumWriter(key.type, key.schema));
+		this.readerCache = new CountingLruCache<>(readerCacheSize,
+				key -> getDatumReader(key.type, key.readerSchema, key.writerSchema));
+	}
+
+	/**
+	 * Set the maximum number of idle {@link BinaryDecoder} instances retained for reuse
+	 * by {@link #readData(Class, byte[], Schema, Schema)}. Default {@code 0}, which
+	 * allocates a new decoder for every payload.
+	 * @param decoderPoolSize the maximum number of pooled decoders
+	 */
+	public void setDecoderPoolSize(int decoderPoolSize) {
+		this.decoderPool = new BoundedPool<>(decoderPoolSize);
+	}
+
 	/**
 	 * get {@link Schema}.
 	 * @param clazz {@link Class} for which schema generation is required
@@ -67,13 +121,74 @@ public class AvroSchemaServiceManagerImpl implements AvroSchemaServiceManager {
 	}
 
 	/**
-	 * get {@link DatumWriter}.
+	 * get {@link DatumWriter}. Writers are thread-safe once created and are therefore
+	 * cached per type and {@link Schema} instance.
 	 * @param type {@link Class} of java object which needs to be serialized
 	 * @param schema {@link Schema} of object which needs to be serialized
 	 * @return datum writer which can be used to write Avro payload
 	 */
 	@Override
 	public DatumWriter<Object> getDatumWriter(Class<?> type, Schema schema) {
+		return this.writerCache.get(new WriterKey(type, schema));
+	}
+
+	/**
+	 * Return the number of {@link #getDatumWriter(Class, Schema)} calls served from the
+	 * writer cache.
+	 * @return the writer cache hit count
+	 */
+	public long getWriterCacheHits() {
+		return this.writerCache.hits();
+	}
+
+	/**
+	 * Return the number of {@link #getDatumWriter(Class, Schema)} calls that had to
+	 * create a new {@link DatumWriter}.
+	 * @return the writer cache miss count
+	 */
+	public long getWriterCacheMisses() {
+		return this.writerCache.misses();
+	}
+
+	/**
+	 * Return the number of {@link #readData(Class, byte[], Schema, Schema)} calls that
+	 * reused a cached {@link DatumReader}.
+	 * @return the reader cache hit count
+	 */
+	public long getReaderCacheHits() {
+		return this.readerCache.hits();
+	}
+
+	/**
+	 * Return the number of {@link #readData(Class, byte[], Schema, Schema)} calls that
+	 * had to create a new {@link DatumReader}.
+	 * @return the reader cache miss count
+	 */
+	public long getReaderCacheMisses() {
+		return this.readerCache.misses();
+	}
+
+	/**
+	 * Return the number of {@link DatumReader} instances currently cached.
+	 * @return the reader cache size
+	 */
+	public int getReaderCacheSize() {
+		return this.readerCache.size();
+	}
+
+	/**
+	 * Create and cache the {@link DatumReader} that
+	 * {@link #readData(Class, byte[], Schema, Schema)} uses for the given type and
+	 * schemas, unless it is already cached.
+	 * @param type {@link Class} of java object which needs to be de-serialized
+	 * @param readerSchema {@link Schema} readerSchema of object which needs to be de-serialized
+	 * @param writerSchema {@link Schema} writerSchema used while serializing payload
+	 */
+	public void prepareDatumReader(Class<?> type, Schema readerSchema, Schema writerSchema) {
+		this.readerCache.get(new ReaderKey(type, readerSchema, writerSchema));
+	}
+
+	protected DatumWriter<Object> createDatumWriter(Class<?> type, Schema schema) {
 		DatumWriter<Object> writer;
 		this.logger.debug("Finding correct DatumWriter for type " + type.getName());
 		if (SpecificRecord.class.isAssignableFrom(type)) {
@@ -154,7 +269,9 @@ public class AvroSchemaServiceManagerImpl implements AvroSchemaServiceManager {
 	}
 
 	/**
-	 * read data from avro type payload {@link DatumReader}.
+	 * read data from avro type payload {@link DatumReader}. The reader is cached per
+	 * target type, reader and writer {@link Schema} instances, so that Avro's resolving
+	 * grammar for a given schema pair is only computed once per thread.
 	 * @param clazz {@link Class} of java object which needs to be serialized
 	 * @param payload {@link byte} serialized payload of object which needs to be de-serialized
 	 * @param readerSchema {@link Schema} readerSchema of object which needs to be de-serialized
@@ -165,8 +282,88 @@ public class AvroSchemaServiceManagerImpl implements AvroSchemaServiceManager {
 	@Override
 	public Object readData(Class<? extends Object> clazz, byte[] payload, Schema readerSchema, Schema writerSchema)
 			throws IOException {
-		DatumReader<Object> reader = this.getDatumReader(clazz, readerSchema, writerSchema);
-		Decoder decoder = DecoderFactory.get().binaryDecoder(payload, null);
-		return reader.read(null, decoder);
+		DatumReader<Object> reader = this.readerCache.get(new ReaderKey(clazz, readerSchema, writerSchema));
+		BoundedPool<BinaryDecoder> pool = this.decoderPool;
+		BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(payload, pool.poll());
+		Object result = reader.read(null, decoder);
+		// detach the payload so that idle decoders do not keep it reachable
+		pool.offer(DecoderFactory.get().binaryDecoder(EMPTY_PAYLOAD, decoder));
+		return result;
 	}
+
+	/**
+	 * Writer cache key. The schema is compared by identity since schemas are expected to
+	 * be resolved once and reused, and {@link Schema#equals(Object)} is comparatively
+	 * expensive.
+	 */
+	private static final class WriterKey {
+
+		private final Class<?> type;
+
+		private final Schema schema;
+
+		WriterKey(Class<?> type, Schema schema) {
+			this.type = type;
+			this.schema = schema;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof WriterKey)) {
+				return false;
+			}
+			WriterKey that = (WriterKey) o;
+			return this.type == that.type && this.schema == that.schema;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.type.hashCode() + System.identityHashCode(this.schema);
+		}
+
+	}
+
+	/**
+	 * Reader cache key, comparing both schemas by identity.
+	 */
+	private static final class ReaderKey {
+
+		private final Class<?> type;
+
+		private final Schema readerSchema;
+
+		private final Schema writerSchema;
+
+		ReaderKey(Class<?> type, Schema readerSchema, Schema writerSchema) {
+			this.type = type;
+			this.readerSchema = readerSchema;
+			this.writerSchema = writerSchema;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ReaderKey)) {
+				return false;
+			}
+			ReaderKey that = (ReaderKey) o;
+			return this.type == that.type && this.readerSchema == that.readerSchema
+					&& this.writerSchema == that.writerSchema;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.type.hashCode();
+			result = 31 * result + System.identityHashCode(this.readerSchema);
+			result = 31 * result + System.identityHashCode(this.writerSchema);
+			return result;
+		}
+
+	}
+
 }
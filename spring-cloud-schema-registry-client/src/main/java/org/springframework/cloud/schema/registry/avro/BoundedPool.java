@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded pool of idle, reusable objects such as Avro encoders and decoders.
+ *
+ * Unlike a {@link ThreadLocal} the number of retained instances does not grow with the
+ * number of threads, and the underlying queue never blocks or pins the calling thread,
+ * which keeps the pool safe to use from virtual threads. A pool of size {@code 0} never
+ * retains anything.
+ *
+ * @param <T> the type of the pooled objects
+ */
+final class BoundedPool<T> {
+
+	@Nullable
+	private final BlockingQueue<T> idle;
+
+	BoundedPool(int size) {
+		Assert.isTrue(size >= 0, "Pool size must not be negative");
+		this.idle = (size > 0) ? new ArrayBlockingQueue<>(size) : null;
+	}
+
+	/**
+	 * Take an idle instance out of the pool.
+	 * @return the instance or {@code null} if none is available
+	 */
+	@Nullable
+	T poll() {
+		return (this.idle != null) ? this.idle.poll() : null;
+	}
+
+	/**
+	 * Return an instance to the pool. It is dropped if the pool is already full.
+	 * @param instance the instance to return
+	 */
+	void offer(T instance) {
+		if (this.idle != null) {
+			this.idle.offer(instance);
+		}
+	}
+
+	/**
+	 * Return whether the pool retains instances at all, that is unless its size is
+	 * {@code 0}.
+	 * @return whether offered instances may be retained
+	 */
+	boolean isRetaining() {
+		return this.idle != null;
+	}
+
+	int size() {
+		return (this.idle != null) ? this.idle.size() : 0;
+	}
+
+}
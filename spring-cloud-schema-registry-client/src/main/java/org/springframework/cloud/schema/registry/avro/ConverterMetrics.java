@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Receives the measurements of an {@link AbstractAvroMessageConverter}, such as the
+ * duration of each conversion and the outcome of each schema cache lookup. Every method
+ * does nothing by default.
+ *
+ * @author Spring Cloud Team
+ * @see MicrometerConverterMetrics
+ */
+public interface ConverterMetrics {
+
+	/**
+	 * Metrics that record nothing.
+	 */
+	ConverterMetrics NONE = new ConverterMetrics() {
+	};
+
+	/**
+	 * Record a conversion.
+	 * @param operation the kind of conversion
+	 * @param durationNanos the duration of the conversion, in nanoseconds
+	 * @param payloadSize the size of the serialized payload, in bytes
+	 * @param failure the exception the conversion failed with, or {@code null} if it
+	 * succeeded
+	 */
+	default void conversion(Operation operation, long durationNanos, int payloadSize, Throwable failure) {
+	}
+
+	/**
+	 * Record a lookup in one of the converter caches.
+	 * @param cacheName the name of the cache
+	 * @param hit whether the cache held the value
+	 */
+	default void cacheAccess(String cacheName, boolean hit) {
+	}
+
+	/**
+	 * Record that the converter started estimating the encoded size of the payloads
+	 * written with a schema.
+	 * @param schemaName the full name of the schema
+	 * @param fingerprint the fingerprint distinguishing the versions of the schema
+	 * @param averageSize the supplier of the current average encoded size, in bytes
+	 */
+	default void sizeEstimateAdded(String schemaName, String fingerprint, IntSupplier averageSize) {
+	}
+
+	/**
+	 * Record that the converter evicted the encoded size estimate of a schema.
+	 * @param schemaName the full name of the schema
+	 * @param fingerprint the fingerprint distinguishing the versions of the schema
+	 */
+	default void sizeEstimateRemoved(String schemaName, String fingerprint) {
+	}
+
+	/**
+	 * The kinds of conversions.
+	 */
+	enum Operation {
+
+		/**
+		 * Conversion of a payload into an Avro encoded message.
+		 */
+		SERIALIZE,
+
+		/**
+		 * Conversion of an Avro encoded message into a payload.
+		 */
+		DESERIALIZE
+
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Bounded {@link ConcurrentLruCache} that keeps track of its hit and miss counts.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached values
+ */
+final class CountingLruCache<K, V> {
+
+	private final ConcurrentLruCache<K, V> cache;
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	CountingLruCache(int sizeLimit, Function<K, V> generator) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		this.cache = new ConcurrentLruCache<>(sizeLimit, key -> {
+			this.misses.increment();
+			return generator.apply(key);
+		});
+	}
+
+	V get(K key) {
+		this.requests.increment();
+		return this.cache.get(key);
+	}
+
+	int size() {
+		return this.cache.size();
+	}
+
+	int sizeLimit() {
+		return this.cache.sizeLimit();
+	}
+
+	long hits() {
+		return this.requests.sum() - this.misses.sum();
+	}
+
+	long misses() {
+		return this.misses.sum();
+	}
+
+	void clear() {
+		this.cache.clear();
+	}
+
+}
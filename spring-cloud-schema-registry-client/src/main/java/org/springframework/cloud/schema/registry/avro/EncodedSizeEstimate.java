@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+/**
+ * Running estimate of the encoded size of the payloads written with a given schema.
+ *
+ * Keeps exponentially weighted moving averages of the size and of its deviation, and
+ * suggests a buffer capacity that covers most payloads. For schemas producing payloads
+ * of constant size the deviation converges to zero, so the suggested capacity becomes
+ * exact. Concurrent updates may occasionally be lost, which is acceptable for an
+ * estimate.
+ */
+final class EncodedSizeEstimate {
+
+	private static final double ALPHA = 0.125;
+
+	private final String schemaName;
+
+	private final String fingerprint;
+
+	private volatile double average;
+
+	private volatile double deviation;
+
+	private volatile long lastUsed = System.nanoTime();
+
+	EncodedSizeEstimate(String schemaName, String fingerprint) {
+		this.schemaName = schemaName;
+		this.fingerprint = fingerprint;
+	}
+
+	String schemaName() {
+		return this.schemaName;
+	}
+
+	String fingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * Return the key of this estimate, unique for every distinct schema, even for the
+	 * versions of a record sharing the same full name.
+	 * @return the full name of the schema followed by its fingerprint
+	 */
+	String key() {
+		return this.schemaName + ":" + this.fingerprint;
+	}
+
+	void touch() {
+		this.lastUsed = System.nanoTime();
+	}
+
+	long lastUsed() {
+		return this.lastUsed;
+	}
+
+	void record(int size) {
+		double currentAverage = this.average;
+		if (currentAverage == 0) {
+			this.average = size;
+			return;
+		}
+		double difference = size - currentAverage;
+		this.average = currentAverage + ALPHA * difference;
+		this.deviation = this.deviation + ALPHA * (Math.abs(difference) - this.deviation);
+	}
+
+	int averageSize() {
+		return (int) Math.round(this.average);
+	}
+
+	int expectedCapacity() {
+		return (int) Math.ceil(this.average + 2 * this.deviation);
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+import java.io.ByteArrayOutputStream;
+
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+/**
+ * Growable output buffer together with the {@link BinaryEncoder} writing into it, so
+ * both can be recycled across messages.
+ */
+final class EncodingBuffer extends ByteArrayOutputStream {
+
+	/**
+	 * Buffers that grew beyond this capacity are not worth retaining in a pool.
+	 */
+	static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+	private final BinaryEncoder encoder;
+
+	private boolean detached;
+
+	EncodingBuffer(int initialCapacity) {
+		this(initialCapacity, null);
+	}
+
+	private EncodingBuffer(int initialCapacity, BinaryEncoder reuse) {
+		super(initialCapacity);
+		this.encoder = EncoderFactory.get().binaryEncoder(this, reuse);
+	}
+
+	BinaryEncoder encoder() {
+		return this.encoder;
+	}
+
+	int capacity() {
+		return this.buf.length;
+	}
+
+	/**
+	 * Grow the (empty) buffer up front so that writing the expected number of bytes
+	 * does not require intermediate copies.
+	 * @param capacity the expected number of bytes
+	 */
+	void ensureCapacity(int capacity) {
+		if (capacity > this.buf.length) {
+			this.buf = new byte[capacity];
+		}
+	}
+
+	/**
+	 * Return the written bytes. When the buffer is exactly full its backing array is
+	 * handed out instead of a copy, after which this buffer must not be reused.
+	 * @return the written bytes
+	 */
+	byte[] toByteArrayOrDetach() {
+		if (this.count == this.buf.length) {
+			this.detached = true;
+			return this.buf;
+		}
+		return toByteArray();
+	}
+
+	/**
+	 * Return an empty buffer to reuse in place of this one: this buffer itself, unless
+	 * its backing array was handed out, in which case a new buffer without an array of
+	 * its own yet, re-targeting the same encoder and its internal buffer.
+	 * @return the buffer to reuse
+	 */
+	EncodingBuffer recycle() {
+		if (this.detached) {
+			return new EncodingBuffer(0, this.encoder);
+		}
+		reset();
+		return this;
+	}
+
+	boolean isRetainable() {
+		return capacity() <= MAX_RETAINED_CAPACITY;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent requests for the same key, so that only one of them is in
+ * flight at any time and all other callers wait for, and share, its outcome.
+ *
+ * Callers are expected to publish the result (e.g. to a cache) from within the request
+ * itself, so that callers arriving after it completed no longer need to issue it.
+ *
+ * @param <K> the type of the request keys
+ * @param <V> the type of the request results
+ */
+final class InFlightRequests<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> requests = new ConcurrentHashMap<>();
+
+	V execute(K key, Supplier<V> request) {
+		CompletableFuture<V> future = new CompletableFuture<>();
+		CompletableFuture<V> inFlight = this.requests.putIfAbsent(key, future);
+		if (inFlight != null) {
+			return await(inFlight);
+		}
+		try {
+			V result = request.get();
+			future.complete(result);
+			return result;
+		}
+		catch (RuntimeException | Error ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.requests.remove(key, future);
+		}
+	}
+
+	/**
+	 * Issue the asynchronous request unless a request for the same key, synchronous or
+	 * not, is already in flight, without blocking the calling thread.
+	 * @return a future completed with the outcome of the request in flight, cancelling it
+	 * does not cancel that request
+	 */
+	CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> request) {
+		CompletableFuture<V> future = new CompletableFuture<>();
+		CompletableFuture<V> inFlight = this.requests.putIfAbsent(key, future);
+		if (inFlight == null) {
+			inFlight = future;
+			CompletableFuture<V> result;
+			try {
+				result = request.get();
+			}
+			catch (RuntimeException | Error ex) {
+				result = new CompletableFuture<>();
+				result.completeExceptionally(ex);
+			}
+			result.whenComplete((value, ex) -> {
+				this.requests.remove(key, future);
+				if (ex != null) {
+					future.completeExceptionally((ex instanceof CompletionException && ex.getCause() != null)
+							? ex.getCause() : ex);
+				}
+				else {
+					future.complete(value);
+				}
+			});
+		}
+		return inFlight.thenApply(Function.identity());
+	}
+
+	private static <V> V await(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.avro;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link ConverterMetrics} publishing to a Micrometer {@link MeterRegistry}. All tags have
+ * a bounded set of values: the operation, the outcome, the simple name of the exception
+ * class of failed conversions, the name of the cache, and the name and fingerprint of the
+ * schemas whose encoded size is estimated, which the converter bounds.
+ *
+ * @author Spring Cloud Team
+ */
+public class MicrometerConverterMetrics implements ConverterMetrics {
+
+	/**
+	 * Name of the timer of conversions.
+	 */
+	public static final String CONVERSIONS = "spring.cloud.schema.registry.converter.conversions";
+
+	/**
+	 * Name of the distribution summary of serialized payload sizes.
+	 */
+	public static final String PAYLOAD_SIZE = "spring.cloud.schema.registry.converter.payload.size";
+
+	/**
+	 * Name of the counter of cache lookups.
+	 */
+	public static final String CACHE_ACCESSES = "spring.cloud.schema.registry.converter.cache";
+
+	/**
+	 * Name of the gauge of the estimated encoded size of the payloads of each schema.
+	 */
+	public static final String SIZE_ESTIMATE = "spring.cloud.schema.registry.converter.size.estimate";
+
+	private final MeterRegistry registry;
+
+	private final Map<Operation, Timer> successes = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, DistributionSummary> payloadSizes = new EnumMap<>(Operation.class);
+
+	private final Map<String, Counter> cacheHits = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> cacheMisses = new ConcurrentHashMap<>();
+
+	private final Map<String, Gauge> sizeEstimates = new ConcurrentHashMap<>();
+
+	public MicrometerConverterMetrics(MeterRegistry registry) {
+		Assert.notNull(registry, "'registry' cannot be null");
+		this.registry = registry;
+		for (Operation operation : Operation.values()) {
+			this.successes.put(operation, timer(operation, "success", "none"));
+			this.payloadSizes.put(operation, DistributionSummary.builder(PAYLOAD_SIZE)
+					.description("Size of the serialized payloads of Avro message conversions")
+					.baseUnit("bytes")
+					.tag("operation", tagValue(operation))
+					.register(registry));
+		}
+	}
+
+	@Override
+	public void conversion(Operation operation, long durationNanos, int payloadSize, Throwable failure) {
+		Timer timer = (failure != null) ? timer(operation, "failure", failure.getClass().getSimpleName())
+				: this.successes.get(operation);
+		timer.record(durationNanos, TimeUnit.NANOSECONDS);
+		if (failure == null) {
+			this.payloadSizes.get(operation).record(payloadSize);
+		}
+	}
+
+	@Override
+	public void cacheAccess(String cacheName, boolean hit) {
+		Map<String, Counter> counters = hit ? this.cacheHits : this.cacheMisses;
+		counters.computeIfAbsent(cacheName, name -> Counter.builder(CACHE_ACCESSES)
+				.description("Lookups in the schema caches of the Avro message converter")
+				.tag("cache", name)
+				.tag("result", hit ? "hit" : "miss")
+				.register(this.registry))
+				.increment();
+	}
+
+	@Override
+	public void sizeEstimateAdded(String schemaName, String fingerprint, IntSupplier averageSize) {
+		Gauge gauge = Gauge.builder(SIZE_ESTIMATE, averageSize, IntSupplier::getAsInt)
+				.description("Running average of the encoded payload size of the Avro message conversions")
+				.baseUnit("bytes")
+				.tag("schema", schemaName)
+				.tag("fingerprint", fingerprint)
+				.strongReference(true)
+				.register(this.registry);
+		this.sizeEstimates.put(schemaName + ":" + fingerprint, gauge);
+	}
+
+	@Override
+	public void sizeEstimateRemoved(String schemaName, String fingerprint) {
+		Gauge gauge = this.sizeEstimates.remove(schemaName + ":" + fingerprint);
+		if (gauge != null) {
+			this.registry.remove(gauge);
+		}
+	}
+
+	private Timer timer(Operation operation, String outcome, String exception) {
+		return Timer.builder(CONVERSIONS)
+				.description("Duration of Avro message conversions")
+				.tag("operation", tagValue(operation))
+				.tag("outcome", outcome)
+				.tag("exception", exception)
+				.register(this.registry);
+	}
+
+	private static String tagValue(Operation operation) {
+		return operation.name().toLowerCase(Locale.ROOT);
+	}
+
+}
@@ -16,11 +16,9 @@
 
 package org.springframework.cloud.schema.registry.avro;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.converter.ContentTypeResolver;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.MimeType;
 
 /**
@@ -34,7 +32,10 @@ class OriginalContentTypeResolver implements ContentTypeResolver {
 
 	private static final String BINDER_ORIGINAL_CONTENT_TYPE = "originalContentType";
 
-	private ConcurrentMap<String, MimeType> mimeTypeCache = new ConcurrentHashMap<>();
+	private static final int MIME_TYPE_CACHE_SIZE = 256;
+
+	private final ConcurrentLruCache<String, MimeType> mimeTypeCache =
+			new ConcurrentLruCache<>(MIME_TYPE_CACHE_SIZE, MimeType::valueOf);
 
 	@Override
 	public MimeType resolve(MessageHeaders headers) {
@@ -47,12 +48,7 @@ class OriginalContentTypeResolver implements ContentTypeResolver {
 			mimeType = (MimeType) contentType;
 		}
 		else if (contentType instanceof String) {
-			mimeType = this.mimeTypeCache.get(contentType);
-			if (mimeType == null) {
-				String valueAsString = (String) contentType;
-				mimeType = MimeType.valueOf(valueAsString);
-				this.mimeTypeCache.put(valueAsString, mimeType);
-			}
+			mimeType = this.mimeTypeCache.get((String) contentType);
 		}
 		return mimeType;
 	}
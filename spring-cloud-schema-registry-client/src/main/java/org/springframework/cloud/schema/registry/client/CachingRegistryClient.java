@@ -16,10 +16,17 @@
 
 package org.springframework.cloud.schema.registry.client;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cloud.schema.registry.RegisteredSchema;
 import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
 import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
 import org.springframework.util.Assert;
 
@@ -53,15 +60,83 @@ public class CachingRegistryClient implements SchemaRegistryClient {
 	}
 
 	@Override
-	@Cacheable(cacheNames = REF_CACHE)
+	public List<SchemaRegistrationResponse> registerAll(List<SchemaRegistration> schemas) {
+		List<SchemaRegistrationResponse> responses = this.delegate.registerAll(schemas);
+		Cache idCache = this.cacheManager.getCache(ID_CACHE);
+		Cache referenceCache = this.cacheManager.getCache(REF_CACHE);
+		for (int i = 0; i < responses.size(); i++) {
+			String schema = schemas.get(i).getDefinition();
+			idCache.put(responses.get(i).getId(), schema);
+			referenceCache.put(responses.get(i).getSchemaReference(), schema);
+		}
+		return responses;
+	}
+
+	@Override
+	@Cacheable(cacheNames = REF_CACHE, sync = true)
 	public String fetch(SchemaReference schemaReference) {
 		return this.delegate.fetch(schemaReference);
 	}
 
 	@Override
-	@Cacheable(cacheNames = ID_CACHE)
+	@Cacheable(cacheNames = ID_CACHE, sync = true)
 	public String fetch(int id) {
 		return this.delegate.fetch(id);
 	}
 
+	/**
+	 * Serve the requested schemas from the caches where possible, and fetch all the
+	 * others from the delegate at once, caching them by both id and reference. Those the
+	 * delegate does not find are left out.
+	 */
+	@Override
+	public List<RegisteredSchema> fetchAll(Collection<Integer> ids, Collection<SchemaReference> schemaReferences) {
+		Cache idCache = this.cacheManager.getCache(ID_CACHE);
+		Cache referenceCache = this.cacheManager.getCache(REF_CACHE);
+		List<RegisteredSchema> schemas = new ArrayList<>();
+		List<Integer> missingIds = new ArrayList<>();
+		for (Integer id : ids) {
+			String schema = idCache.get(id, String.class);
+			if (schema != null) {
+				schemas.add(new RegisteredSchema(id, null, schema));
+			}
+			else {
+				missingIds.add(id);
+			}
+		}
+		List<SchemaReference> missingReferences = new ArrayList<>();
+		for (SchemaReference schemaReference : schemaReferences) {
+			String schema = referenceCache.get(schemaReference, String.class);
+			if (schema != null) {
+				schemas.add(new RegisteredSchema(null, schemaReference, schema));
+			}
+			else {
+				missingReferences.add(schemaReference);
+			}
+		}
+		if (!missingIds.isEmpty() || !missingReferences.isEmpty()) {
+			schemas.addAll(cacheAll(this.delegate.fetchAll(missingIds, missingReferences)));
+		}
+		return schemas;
+	}
+
+	@Override
+	public List<RegisteredSchema> fetchAll(String subject, String format) {
+		return cacheAll(this.delegate.fetchAll(subject, format));
+	}
+
+	private List<RegisteredSchema> cacheAll(List<RegisteredSchema> schemas) {
+		Cache idCache = this.cacheManager.getCache(ID_CACHE);
+		Cache referenceCache = this.cacheManager.getCache(REF_CACHE);
+		for (RegisteredSchema schema : schemas) {
+			if (schema.getId() != null) {
+				idCache.put(schema.getId(), schema.getDefinition());
+			}
+			if (schema.getSchemaReference() != null) {
+				referenceCache.put(schema.getSchemaReference(), schema.getDefinition());
+			}
+		}
+		return schemas;
+	}
+
 }
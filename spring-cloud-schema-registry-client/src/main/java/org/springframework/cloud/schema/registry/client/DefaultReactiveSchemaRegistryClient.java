@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * {@link ReactiveSchemaRegistryClient} for the Spring Cloud Schema Registry server,
+ * built on {@link WebClient}. Connections are pooled by the underlying
+ * {@link org.springframework.http.client.reactive.ClientHttpConnector}, which for
+ * Reactor Netty keeps a shared connection pool by default.
+ *
+ * @author Spring Cloud Team
+ */
+public class DefaultReactiveSchemaRegistryClient implements ReactiveSchemaRegistryClient {
+
+	private static final ParameterizedTypeReference<Map<String, Object>> RESPONSE_TYPE =
+			new ParameterizedTypeReference<Map<String, Object>>() { };
+
+	private final WebClient webClient;
+
+	private String endpoint = "http://localhost:8990";
+
+	public DefaultReactiveSchemaRegistryClient(WebClient.Builder builder) {
+		this(builder.build());
+	}
+
+	public DefaultReactiveSchemaRegistryClient(WebClient webClient) {
+		Assert.notNull(webClient, "'webClient' must not be null.");
+		this.webClient = webClient;
+	}
+
+	protected String getEndpoint() {
+		return this.endpoint;
+	}
+
+	public void setEndpoint(String endpoint) {
+		Assert.hasText(endpoint, "cannot be empty");
+		this.endpoint = endpoint;
+	}
+
+	protected WebClient getWebClient() {
+		return this.webClient;
+	}
+
+	@Override
+	public Mono<SchemaRegistrationResponse> register(String subject, String format, String schema) {
+		Map<String, String> requestBody = new HashMap<>();
+		requestBody.put("subject", subject);
+		requestBody.put("format", format);
+		requestBody.put("definition", schema);
+		return this.webClient.post()
+				.uri(this.endpoint)
+				.bodyValue(requestBody)
+				.retrieve()
+				.bodyToMono(RESPONSE_TYPE)
+				.map(responseBody -> {
+					SchemaRegistrationResponse registrationResponse = new SchemaRegistrationResponse();
+					registrationResponse.setId((Integer) responseBody.get("id"));
+					registrationResponse.setSchemaReference(new SchemaReference(subject,
+							(Integer) responseBody.get("version"), responseBody.get("format").toString()));
+					return registrationResponse;
+				});
+	}
+
+	@Override
+	public Mono<String> fetch(SchemaReference schemaReference) {
+		return this.webClient.get()
+				.uri(this.endpoint + "/{subject}/{format}/v{version}", schemaReference.getSubject(),
+						schemaReference.getFormat(), schemaReference.getVersion())
+				.retrieve()
+				.bodyToMono(RESPONSE_TYPE)
+				.map(responseBody -> (String) responseBody.get("definition"));
+	}
+
+	@Override
+	public Mono<String> fetch(int id) {
+		return this.webClient.get()
+				.uri(this.endpoint + "/schemas/{id}", id)
+				.retrieve()
+				.bodyToMono(RESPONSE_TYPE)
+				.map(responseBody -> (String) responseBody.get("definition"));
+	}
+
+}
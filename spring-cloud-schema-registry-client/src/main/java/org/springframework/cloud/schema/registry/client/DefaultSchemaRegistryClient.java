@@ -16,14 +16,26 @@
 
 package org.springframework.cloud.schema.registry.client;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.schema.registry.RegisteredSchema;
 import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
 import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -33,10 +45,30 @@ import org.springframework.web.client.RestTemplate;
  */
 public class DefaultSchemaRegistryClient implements SchemaRegistryClient {
 
+	/**
+	 * Maximum number of fetched schemas kept along with their ETag for revalidation.
+	 */
+	private static final int VALIDATED_SCHEMAS_SIZE = 1000;
+
+	private final Map<String, ValidatedSchema> validatedSchemas = Collections.synchronizedMap(
+			new LinkedHashMap<String, ValidatedSchema>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, ValidatedSchema> eldest) {
+					return size() > VALIDATED_SCHEMAS_SIZE;
+				}
+
+			});
+
 	private RestTemplate restTemplate;
 
 	private String endpoint = "http://localhost:8990";
 
+	/**
+	 * Whether the server was found to predate the batch registration endpoint.
+	 */
+	private volatile boolean batchRegistrationUnsupported;
+
 	public DefaultSchemaRegistryClient(RestTemplateBuilder builder) {
 		this(builder.build());
 	}
@@ -79,26 +111,163 @@ public class DefaultSchemaRegistryClient implements SchemaRegistryClient {
 				"Failed to register schema: " + responseEntity.toString());
 	}
 
-	@SuppressWarnings("rawtypes")
+	/**
+	 * Register all schemas with a single request to the server's batch endpoint. The
+	 * server registers every valid schema even when others fail, in which case an
+	 * exception listing the failures is thrown. Servers without the batch endpoint are
+	 * sent one registration request per schema instead.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public List<SchemaRegistrationResponse> registerAll(List<SchemaRegistration> schemas) {
+		if (this.batchRegistrationUnsupported) {
+			return SchemaRegistryClient.super.registerAll(schemas);
+		}
+		List<Map<String, String>> requestBody = new ArrayList<>();
+		for (SchemaRegistration schema : schemas) {
+			Map<String, String> registration = new HashMap<>();
+			registration.put("subject", schema.getSubject());
+			registration.put("format", schema.getFormat());
+			registration.put("definition", schema.getDefinition());
+			requestBody.add(registration);
+		}
+		ResponseEntity<List> responseEntity;
+		try {
+			responseEntity = this.restTemplate.postForEntity(this.endpoint + "/batch", requestBody, List.class);
+		}
+		catch (HttpClientErrorException ex) {
+			if (ex.getStatusCode() != HttpStatus.NOT_FOUND && ex.getStatusCode() != HttpStatus.METHOD_NOT_ALLOWED) {
+				throw ex;
+			}
+			this.batchRegistrationUnsupported = true;
+			return SchemaRegistryClient.super.registerAll(schemas);
+		}
+		if (!responseEntity.getStatusCode().is2xxSuccessful()) {
+			throw new RuntimeException("Failed to register schemas: " + responseEntity.toString());
+		}
+		List<SchemaRegistrationResponse> responses = new ArrayList<>();
+		List<String> errors = new ArrayList<>();
+		for (Map<String, Object> result : (List<Map<String, Object>>) responseEntity.getBody()) {
+			Map<String, Object> schema = (Map<String, Object>) result.get("schema");
+			if (!HttpStatus.valueOf((Integer) result.get("status")).is2xxSuccessful()) {
+				errors.add(schema.get("subject") + ": " + result.get("error"));
+				continue;
+			}
+			SchemaRegistrationResponse registrationResponse = new SchemaRegistrationResponse();
+			registrationResponse.setId((Integer) schema.get("id"));
+			registrationResponse.setSchemaReference(new SchemaReference((String) schema.get("subject"),
+					(Integer) schema.get("version"), (String) schema.get("format")));
+			responses.add(registrationResponse);
+		}
+		if (!errors.isEmpty()) {
+			throw new RuntimeException("Failed to register schemas: " + errors);
+		}
+		return responses;
+	}
+
 	@Override
 	public String fetch(SchemaReference schemaReference) {
-		ResponseEntity<Map> responseEntity = this.restTemplate.getForEntity(this.endpoint
-				+ "/" + schemaReference.getSubject() + "/" + schemaReference.getFormat()
-				+ "/v" + schemaReference.getVersion(), Map.class);
+		return fetchDefinition(this.endpoint + "/" + schemaReference.getSubject() + "/" + schemaReference.getFormat()
+				+ "/v" + schemaReference.getVersion());
+	}
+
+	@Override
+	public String fetch(int id) {
+		return fetchDefinition(this.endpoint + "/schemas/" + id);
+	}
+
+	/**
+	 * Fetch the definition of a single schema. Schemas fetched before are revalidated
+	 * with their ETag, sparing the transfer of their definition when unchanged.
+	 */
+	@SuppressWarnings("rawtypes")
+	private String fetchDefinition(String url) {
+		ValidatedSchema validated = this.validatedSchemas.get(url);
+		HttpHeaders headers = new HttpHeaders();
+		if (validated != null) {
+			headers.setIfNoneMatch(validated.eTag);
+		}
+		ResponseEntity<Map> responseEntity = this.restTemplate.exchange(url, HttpMethod.GET,
+				new HttpEntity<>(headers), Map.class);
+		if (validated != null && responseEntity.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+			return validated.definition;
+		}
 		if (!responseEntity.getStatusCode().is2xxSuccessful()) {
 			throw new RuntimeException("Failed to fetch schema: " + responseEntity.toString());
 		}
-		return (String) responseEntity.getBody().get("definition");
+		String definition = (String) responseEntity.getBody().get("definition");
+		String eTag = responseEntity.getHeaders().getETag();
+		if (eTag != null) {
+			this.validatedSchemas.put(url, new ValidatedSchema(eTag, definition));
+		}
+		else {
+			this.validatedSchemas.remove(url);
+		}
+		return definition;
 	}
 
 	@SuppressWarnings("rawtypes")
 	@Override
-	public String fetch(int id) {
-		ResponseEntity<Map> responseEntity = this.restTemplate.getForEntity(this.endpoint + "/schemas/" + id, Map.class);
+	public List<RegisteredSchema> fetchAll(Collection<Integer> ids, Collection<SchemaReference> schemaReferences) {
+		List<Map<String, Object>> references = new ArrayList<>();
+		for (SchemaReference schemaReference : schemaReferences) {
+			Map<String, Object> reference = new HashMap<>();
+			reference.put("subject", schemaReference.getSubject());
+			reference.put("format", schemaReference.getFormat());
+			reference.put("version", schemaReference.getVersion());
+			references.add(reference);
+		}
+		Map<String, Object> requestBody = new HashMap<>();
+		requestBody.put("ids", ids);
+		requestBody.put("references", references);
+		ResponseEntity<List> responseEntity = this.restTemplate.postForEntity(this.endpoint + "/schemas/batch",
+				requestBody, List.class);
 		if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-			throw new RuntimeException("Failed to fetch schema: " + responseEntity.toString());
+			throw new RuntimeException("Failed to fetch schemas: " + responseEntity.toString());
+		}
+		return toRegisteredSchemas(responseEntity.getBody());
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public List<RegisteredSchema> fetchAll(String subject, String format) {
+		ResponseEntity<List> responseEntity;
+		try {
+			responseEntity = this.restTemplate.getForEntity(this.endpoint + "/{subject}/{format}", List.class,
+					subject, format);
+		}
+		catch (HttpClientErrorException.NotFound ex) {
+			return Collections.emptyList();
 		}
-		return (String) responseEntity.getBody().get("definition");
+		if (!responseEntity.getStatusCode().is2xxSuccessful()) {
+			throw new RuntimeException("Failed to fetch schemas: " + responseEntity.toString());
+		}
+		return toRegisteredSchemas(responseEntity.getBody());
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static List<RegisteredSchema> toRegisteredSchemas(List responseBodies) {
+		List<RegisteredSchema> schemas = new ArrayList<>();
+		for (Map<String, Object> responseBody : (List<Map<String, Object>>) responseBodies) {
+			schemas.add(new RegisteredSchema((Integer) responseBody.get("id"),
+					new SchemaReference((String) responseBody.get("subject"), (Integer) responseBody.get("version"),
+							(String) responseBody.get("format")),
+					(String) responseBody.get("definition")));
+		}
+		return schemas;
+	}
+
+	private static final class ValidatedSchema {
+
+		private final String eTag;
+
+		private final String definition;
+
+		ValidatedSchema(String eTag, String definition) {
+			this.eTag = eTag;
+			this.definition = definition;
+		}
+
 	}
 
 }
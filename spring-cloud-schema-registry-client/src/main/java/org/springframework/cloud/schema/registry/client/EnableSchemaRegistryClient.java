@@ -23,6 +23,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.springframework.cloud.schema.registry.client.config.ReactiveSchemaRegistryClientConfiguration;
 import org.springframework.cloud.schema.registry.client.config.SchemaRegistryClientConfiguration;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -35,7 +36,7 @@ import org.springframework.context.annotation.Import;
 @Documented
 @Inherited
 @Configuration
-@Import(SchemaRegistryClientConfiguration.class)
+@Import({ SchemaRegistryClientConfiguration.class, ReactiveSchemaRegistryClientConfiguration.class })
 public @interface EnableSchemaRegistryClient {
 
 }
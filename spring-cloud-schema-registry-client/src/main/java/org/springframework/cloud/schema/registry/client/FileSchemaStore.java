@@ -0,0 +1,539 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.client;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.util.Assert;
+
+/**
+ * Append-only log of schema definitions in a local directory, indexed in memory by id and
+ * by {@link SchemaReference}. The log is read once, when the store is created, and every
+ * new definition is appended to it.
+ * <p>
+ * Each record carries a CRC32 checksum. Reading stops at the first record that is
+ * truncated or fails its checksum, such as one partially written when the process died,
+ * and the log is cut back to the last valid record. When appending would grow the log
+ * beyond its maximum size, the log is first compacted, dropping the records of
+ * definitions stored again since; if that does not free enough room, this and all later
+ * definitions are passed through without being stored, so that memory use stays bounded
+ * by the size of the log.
+ * <p>
+ * Definitions stored under a reference expire after a time to live, as the versions of a
+ * deleted subject may be registered again with other definitions, and are stored again
+ * once fetched anew. Definitions stored under an id never expire, as ids are not reused.
+ * <p>
+ * Appends and compactions hold an exclusive lock on a lock file next to the log, so that
+ * several processes may share a directory, each appending to the log; each process only
+ * reads the definitions the others stored when it next opens the store. A process must
+ * not open more than one store on the same directory.
+ *
+ * @author Spring Cloud Team
+ */
+public class FileSchemaStore implements Closeable {
+
+	/**
+	 * Name of the log file in the store directory.
+	 */
+	public static final String FILE_NAME = "schemas.log";
+
+	/**
+	 * Name of the lock file in the store directory.
+	 */
+	public static final String LOCK_FILE_NAME = "schemas.lock";
+
+	private static final int MAGIC = 0x53435231;
+
+	private static final int HEADER_SIZE = 4;
+
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private static final int HAS_ID = 1;
+
+	private static final int HAS_REFERENCE = 2;
+
+	private static final int HAS_STORED_AT = 4;
+
+	private static final Log logger = LogFactory.getLog(FileSchemaStore.class);
+
+	private final Path file;
+
+	private final long maxSize;
+
+	private final long referenceTimeToLive;
+
+	private final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+
+	private final Map<SchemaReference, Entry> byReference = new ConcurrentHashMap<>();
+
+	private final FileChannel lockChannel;
+
+	private FileChannel channel;
+
+	private Object fileKey;
+
+	private boolean full;
+
+	/**
+	 * Open the store in the given directory, whose definitions never expire.
+	 * @param directory the directory of the log
+	 * @param maxSize the maximum size of the log, in bytes
+	 */
+	public FileSchemaStore(Path directory, long maxSize) {
+		this(directory, maxSize, null);
+	}
+
+	/**
+	 * Open the store in the given directory, creating the directory and the log if
+	 * needed, and load the definitions it holds.
+	 * @param directory the directory of the log
+	 * @param maxSize the maximum size of the log, in bytes
+	 * @param referenceTimeToLive how long definitions stored under a reference are
+	 * fresh, or {@code null} if they never expire
+	 */
+	public FileSchemaStore(Path directory, long maxSize, Duration referenceTimeToLive) {
+		Assert.notNull(directory, "'directory' cannot be null");
+		Assert.isTrue(maxSize > HEADER_SIZE, "'maxSize' must be larger than " + HEADER_SIZE);
+		Assert.isTrue(referenceTimeToLive == null || !referenceTimeToLive.isNegative(),
+				"'referenceTimeToLive' must not be negative");
+		this.file = directory.resolve(FILE_NAME);
+		this.maxSize = maxSize;
+		this.referenceTimeToLive = (referenceTimeToLive != null) ? referenceTimeToLive.toMillis() : Long.MAX_VALUE;
+		try {
+			Files.createDirectories(directory);
+			this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE);
+			try (FileLock lock = this.lockChannel.lock()) {
+				open();
+				load();
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not open the schema store " + this.file, ex);
+		}
+	}
+
+	/**
+	 * Return the definition of the schema with the given id.
+	 * @param id the schema id
+	 * @return the definition, or {@code null} if not stored
+	 */
+	public String get(int id) {
+		Entry entry = this.byId.get(id);
+		return (entry != null) ? entry.definition : null;
+	}
+
+	/**
+	 * Return the definition of the schema with the given reference, even if expired.
+	 * @param reference the schema reference
+	 * @return the definition, or {@code null} if not stored
+	 */
+	public String get(SchemaReference reference) {
+		Entry entry = this.byReference.get(reference);
+		return (entry != null) ? entry.definition : null;
+	}
+
+	/**
+	 * Return whether the definition stored under the given reference outlived its time
+	 * to live, and should be fetched again.
+	 * @param reference the schema reference
+	 * @return true if a definition is stored under the reference and expired
+	 */
+	public boolean isExpired(SchemaReference reference) {
+		Entry entry = this.byReference.get(reference);
+		return entry != null && System.currentTimeMillis() - entry.storedAt >= this.referenceTimeToLive;
+	}
+
+	/**
+	 * Find a stored schema of the given subject and format with the given definition,
+	 * whose id and reference are both known.
+	 * @param subject the schema subject
+	 * @param format the schema format
+	 * @param definition the schema definition
+	 * @return the registration of the schema, or {@code null} if not stored
+	 */
+	public SchemaRegistrationResponse find(String subject, String format, String definition) {
+		for (Entry entry : this.byReference.values()) {
+			if (entry.id != null && entry.reference.getSubject().equals(subject)
+					&& entry.reference.getFormat().equals(format) && entry.definition.equals(definition)) {
+				SchemaRegistrationResponse response = new SchemaRegistrationResponse();
+				response.setId(entry.id);
+				response.setSchemaReference(entry.reference);
+				return response;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Store a definition under its id, its reference, or both. Definitions already stored
+	 * under the same keys are not written again, unless the one stored under the
+	 * reference expired.
+	 * @param id the schema id, or {@code null}
+	 * @param reference the schema reference, or {@code null}
+	 * @param definition the schema definition
+	 */
+	public synchronized void put(Integer id, SchemaReference reference, String definition) {
+		Assert.isTrue(id != null || reference != null, "Either 'id' or 'reference' must be set");
+		Assert.notNull(definition, "'definition' cannot be null");
+		if ((id == null || this.byId.containsKey(id))
+				&& (reference == null || (this.byReference.containsKey(reference) && !isExpired(reference)))) {
+			return;
+		}
+		if (this.full) {
+			return;
+		}
+		Entry entry = new Entry(id, reference, definition, System.currentTimeMillis());
+		try {
+			if (append(entry)) {
+				index(entry);
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Could not write to the schema store " + this.file, ex);
+		}
+	}
+
+	/**
+	 * Return the number of stored definitions.
+	 * @return the number of distinct stored definitions
+	 */
+	public int size() {
+		return entries().size();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			this.channel.close();
+		}
+		finally {
+			this.lockChannel.close();
+		}
+	}
+
+	private void open() throws IOException {
+		this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		this.fileKey = fileKey();
+	}
+
+	private Object fileKey() throws IOException {
+		return Files.readAttributes(this.file, BasicFileAttributes.class).fileKey();
+	}
+
+	/**
+	 * Open the log again if another process compacted it, replacing the file.
+	 */
+	private void reopenIfReplaced() throws IOException {
+		if (this.fileKey == null || !Objects.equals(this.fileKey, fileKey())) {
+			this.channel.close();
+			open();
+		}
+	}
+
+	private void load() throws IOException {
+		long size = this.channel.size();
+		if (size == 0) {
+			writeHeader(this.channel);
+			return;
+		}
+		List<Entry> entries = readRecords(this.channel, size);
+		if (entries == null) {
+			logger.warn("Discarding the schema store " + this.file + ", which is not a schema store log");
+			this.channel.truncate(0);
+			writeHeader(this.channel);
+			return;
+		}
+		long position = HEADER_SIZE;
+		for (Entry entry : entries) {
+			index(entry);
+			position += RECORD_HEADER_SIZE + entry.length;
+		}
+		if (position < size) {
+			logger.warn("Discarding the corrupted end of the schema store " + this.file + " from offset " + position);
+			this.channel.truncate(position);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Loaded " + entries.size() + " schemas from " + this.file);
+		}
+	}
+
+	/**
+	 * Read the valid records of the log, up to the first truncated or corrupted one.
+	 * @return the records, or {@code null} if the file is not a schema store log
+	 */
+	private static List<Entry> readRecords(FileChannel channel, long size) throws IOException {
+		DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+		if (size < HEADER_SIZE || in.readInt() != MAGIC) {
+			return null;
+		}
+		List<Entry> entries = new ArrayList<>();
+		long position = HEADER_SIZE;
+		while (position < size) {
+			Entry entry = readRecord(in, size - position);
+			if (entry == null) {
+				break;
+			}
+			entries.add(entry);
+			position += RECORD_HEADER_SIZE + entry.length;
+		}
+		return entries;
+	}
+
+	/**
+	 * Read the next record, or return {@code null} if it is truncated or corrupted.
+	 */
+	private static Entry readRecord(DataInputStream in, long remaining) throws IOException {
+		if (remaining < RECORD_HEADER_SIZE) {
+			return null;
+		}
+		int length = in.readInt();
+		int checksum = in.readInt();
+		if (length <= 0 || length > remaining - RECORD_HEADER_SIZE) {
+			return null;
+		}
+		byte[] body = new byte[length];
+		try {
+			in.readFully(body);
+		}
+		catch (EOFException ex) {
+			return null;
+		}
+		if (checksum(body) != checksum) {
+			return null;
+		}
+		try {
+			Entry entry = decode(body);
+			entry.length = length;
+			return entry;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Append the record of the entry at the end of the log, as possibly extended by
+	 * other processes, compacting the log first if needed.
+	 * @return false if the log is full
+	 */
+	private boolean append(Entry entry) throws IOException {
+		ByteBuffer record = encode(entry);
+		try (FileLock lock = this.lockChannel.lock()) {
+			reopenIfReplaced();
+			if (this.channel.size() + record.remaining() > this.maxSize) {
+				compact();
+				if (this.channel.size() + record.remaining() > this.maxSize) {
+					logger.warn("The schema store " + this.file + " reached its maximum size of " + this.maxSize
+							+ " bytes, new schemas are no longer stored");
+					this.full = true;
+					return false;
+				}
+			}
+			this.channel.position(this.channel.size());
+			writeFully(this.channel, record);
+			return true;
+		}
+	}
+
+	/**
+	 * Rewrite the log with the latest record of each key, replacing the current log only
+	 * once the new one is complete. The log is read again, so that the records other
+	 * processes appended are kept.
+	 */
+	private void compact() throws IOException {
+		List<Entry> entries = readRecords(this.channel, this.channel.size());
+		if (entries == null) {
+			entries = Collections.emptyList();
+		}
+		Set<Integer> ids = new HashSet<>();
+		Set<SchemaReference> references = new HashSet<>();
+		List<Entry> latest = new ArrayList<>();
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			Entry entry = entries.get(i);
+			boolean newId = entry.id != null && ids.add(entry.id);
+			boolean newReference = entry.reference != null && references.add(entry.reference);
+			if (newId || newReference) {
+				latest.add(entry);
+			}
+		}
+		Collections.reverse(latest);
+		Path compacted = this.file.resolveSibling(FILE_NAME + ".compact");
+		try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			writeHeader(target);
+			for (Entry entry : latest) {
+				writeFully(target, encode(entry));
+			}
+			target.force(true);
+		}
+		this.channel.close();
+		try {
+			Files.move(compacted, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			open();
+		}
+	}
+
+	private void index(Entry entry) {
+		if (entry.id != null) {
+			this.byId.put(entry.id, entry);
+		}
+		if (entry.reference != null) {
+			this.byReference.put(entry.reference, entry);
+		}
+	}
+
+	private Set<Entry> entries() {
+		Set<Entry> entries = Collections.newSetFromMap(new IdentityHashMap<>());
+		entries.addAll(this.byId.values());
+		entries.addAll(this.byReference.values());
+		return entries;
+	}
+
+	private static ByteBuffer encode(Entry entry) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(bytes);
+		body.writeByte(((entry.id != null) ? HAS_ID : 0) | ((entry.reference != null) ? HAS_REFERENCE : 0)
+				| HAS_STORED_AT);
+		if (entry.id != null) {
+			body.writeInt(entry.id);
+		}
+		if (entry.reference != null) {
+			body.writeUTF(entry.reference.getSubject());
+			body.writeInt(entry.reference.getVersion());
+			body.writeUTF(entry.reference.getFormat());
+		}
+		body.writeLong(entry.storedAt);
+		byte[] definition = entry.definition.getBytes(StandardCharsets.UTF_8);
+		body.writeInt(definition.length);
+		body.write(definition);
+		body.flush();
+		byte[] content = bytes.toByteArray();
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + content.length);
+		record.putInt(content.length).putInt(checksum(content)).put(content);
+		record.flip();
+		return record;
+	}
+
+	/**
+	 * Decode a record. Records written before the time they were stored at was recorded
+	 * are considered stored at the epoch, so that they expire.
+	 */
+	private static Entry decode(byte[] body) throws IOException {
+		DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+		int flags = record.readByte();
+		Integer id = ((flags & HAS_ID) != 0) ? record.readInt() : null;
+		SchemaReference reference = null;
+		if ((flags & HAS_REFERENCE) != 0) {
+			String subject = record.readUTF();
+			int version = record.readInt();
+			String format = record.readUTF();
+			reference = new SchemaReference(subject, version, format);
+		}
+		long storedAt = ((flags & HAS_STORED_AT) != 0) ? record.readLong() : 0;
+		int length = record.readInt();
+		if ((id == null && reference == null) || length < 0 || length > record.available()) {
+			throw new IOException("Invalid schema store record");
+		}
+		byte[] definition = new byte[length];
+		record.readFully(definition);
+		return new Entry(id, reference, new String(definition, StandardCharsets.UTF_8), storedAt);
+	}
+
+	private static void writeHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).flip();
+		channel.position(0);
+		writeFully(channel, header);
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static int checksum(byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content, 0, content.length);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * A stored definition, the keys it is stored under and when it was stored, in
+	 * milliseconds since the epoch.
+	 */
+	private static final class Entry {
+
+		private final Integer id;
+
+		private final SchemaReference reference;
+
+		private final String definition;
+
+		private final long storedAt;
+
+		private int length;
+
+		private Entry(Integer id, SchemaReference reference, String definition, long storedAt) {
+			this.id = id;
+			this.reference = reference;
+			this.definition = definition;
+			this.storedAt = storedAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.cloud.schema.registry.RegisteredSchema;
+import org.springframework.cloud.schema.registry.SchemaNotFoundException;
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.util.Assert;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * {@link SchemaRegistryClient} decorator timing every call to the delegate with a
+ * Micrometer {@link Timer}, tagged with the operation and its status. The status is
+ * {@code SUCCESS}, the HTTP status code returned by the registry, {@code IO_ERROR} when
+ * the registry could not be reached, or {@code CLIENT_ERROR} for any other failure, so
+ * that both tags have a bounded set of values.
+ * <p>
+ * Decorate the client that calls the remote registry, rather than a
+ * {@link CachingRegistryClient}, so that cache hits are not counted as remote calls.
+ *
+ * @author Spring Cloud Team
+ */
+public class MeteredSchemaRegistryClient implements SchemaRegistryClient {
+
+	/**
+	 * Name of the timer of schema registry calls.
+	 */
+	public static final String REQUESTS = "spring.cloud.schema.registry.client.requests";
+
+	private final SchemaRegistryClient delegate;
+
+	private final MeterRegistry registry;
+
+	/**
+	 * Timers by operation and status, built on first use.
+	 */
+	private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+	public MeteredSchemaRegistryClient(SchemaRegistryClient delegate, MeterRegistry registry) {
+		Assert.notNull(delegate, "'delegate' cannot be null");
+		Assert.notNull(registry, "'registry' cannot be null");
+		this.delegate = delegate;
+		this.registry = registry;
+	}
+
+	@Override
+	public SchemaRegistrationResponse register(String subject, String format, String schema) {
+		return time("register", () -> this.delegate.register(subject, format, schema));
+	}
+
+	@Override
+	public List<SchemaRegistrationResponse> registerAll(List<SchemaRegistration> schemas) {
+		return time("registerAll", () -> this.delegate.registerAll(schemas));
+	}
+
+	@Override
+	public String fetch(SchemaReference schemaReference) {
+		return time("fetch", () -> this.delegate.fetch(schemaReference));
+	}
+
+	@Override
+	public String fetch(int id) {
+		return time("fetchById", () -> this.delegate.fetch(id));
+	}
+
+	@Override
+	public List<RegisteredSchema> fetchAll(Collection<Integer> ids, Collection<SchemaReference> schemaReferences) {
+		return time("fetchAll", () -> this.delegate.fetchAll(ids, schemaReferences));
+	}
+
+	@Override
+	public List<RegisteredSchema> fetchAll(String subject, String format) {
+		return time("fetchVersions", () -> this.delegate.fetchAll(subject, format));
+	}
+
+	private <T> T time(String operation, Supplier<T> call) {
+		long start = System.nanoTime();
+		String status = "SUCCESS";
+		try {
+			return call.get();
+		}
+		catch (RuntimeException ex) {
+			status = status(ex);
+			throw ex;
+		}
+		finally {
+			timer(operation, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private Timer timer(String operation, String status) {
+		return this.timers.computeIfAbsent(operation + ':' + status, key -> Timer.builder(REQUESTS)
+				.description("Duration of the calls to the schema registry")
+				.tag("operation", operation)
+				.tag("status", status)
+				.register(this.registry));
+	}
+
+	private static String status(RuntimeException ex) {
+		if (ex instanceof RestClientResponseException) {
+			return String.valueOf(((RestClientResponseException) ex).getRawStatusCode());
+		}
+		if (ex instanceof SchemaNotFoundException) {
+			return "404";
+		}
+		if (ex instanceof ResourceAccessException) {
+			return "IO_ERROR";
+		}
+		return "CLIENT_ERROR";
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.cloud.schema.registry.RegisteredSchema;
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.util.Assert;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * {@link SchemaRegistryClient} keeping the schemas it fetches and registers in a
+ * {@link FileSchemaStore}, so that they survive restarts. Schemas are looked up in the
+ * store before calling the delegate, and are written through to it.
+ * <p>
+ * When the schema registry server can not be reached, a registration of a schema already
+ * in the store is answered from the store, so that producers restarting during an outage
+ * can still serialize with the schemas they registered before. Schemas stored under a
+ * reference are fetched again once expired, but expired schemas are still served while
+ * the server can not be reached.
+ *
+ * @author Spring Cloud Team
+ */
+public class PersistentSchemaRegistryClient implements SchemaRegistryClient {
+
+	private final SchemaRegistryClient delegate;
+
+	private final FileSchemaStore store;
+
+	public PersistentSchemaRegistryClient(SchemaRegistryClient delegate, FileSchemaStore store) {
+		Assert.notNull(delegate, "'delegate' cannot be null");
+		Assert.notNull(store, "'store' cannot be null");
+		this.delegate = delegate;
+		this.store = store;
+	}
+
+	@Override
+	public SchemaRegistrationResponse register(String subject, String format, String schema) {
+		SchemaRegistrationResponse response;
+		try {
+			response = this.delegate.register(subject, format, schema);
+		}
+		catch (ResourceAccessException | HttpServerErrorException ex) {
+			response = this.store.find(subject, format, schema);
+			if (response == null) {
+				throw ex;
+			}
+			return response;
+		}
+		this.store.put(response.getId(), response.getSchemaReference(), schema);
+		return response;
+	}
+
+	@Override
+	public List<SchemaRegistrationResponse> registerAll(List<SchemaRegistration> schemas) {
+		List<SchemaRegistrationResponse> responses;
+		try {
+			responses = this.delegate.registerAll(schemas);
+		}
+		catch (ResourceAccessException | HttpServerErrorException ex) {
+			responses = new ArrayList<>();
+			for (SchemaRegistration schema : schemas) {
+				SchemaRegistrationResponse response = this.store.find(schema.getSubject(), schema.getFormat(),
+						schema.getDefinition());
+				if (response == null) {
+					throw ex;
+				}
+				responses.add(response);
+			}
+			return responses;
+		}
+		for (int i = 0; i < responses.size(); i++) {
+			this.store.put(responses.get(i).getId(), responses.get(i).getSchemaReference(),
+					schemas.get(i).getDefinition());
+		}
+		return responses;
+	}
+
+	@Override
+	public String fetch(SchemaReference schemaReference) {
+		String stored = this.store.get(schemaReference);
+		if (stored != null && !this.store.isExpired(schemaReference)) {
+			return stored;
+		}
+		String schema;
+		try {
+			schema = this.delegate.fetch(schemaReference);
+		}
+		catch (ResourceAccessException | HttpServerErrorException ex) {
+			if (stored == null) {
+				throw ex;
+			}
+			return stored;
+		}
+		this.store.put(null, schemaReference, schema);
+		return schema;
+	}
+
+	@Override
+	public String fetch(int id) {
+		String schema = this.store.get(id);
+		if (schema == null) {
+			schema = this.delegate.fetch(id);
+			this.store.put(id, null, schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * Serve the requested schemas from the store where possible, and fetch all the
+	 * others from the delegate at once, storing them. Those the delegate does not find
+	 * are left out. Expired schemas are served when all the others are stored and the
+	 * server can not be reached.
+	 */
+	@Override
+	public List<RegisteredSchema> fetchAll(Collection<Integer> ids, Collection<SchemaReference> schemaReferences) {
+		List<RegisteredSchema> schemas = new ArrayList<>();
+		List<Integer> missingIds = new ArrayList<>();
+		for (Integer id : ids) {
+			String schema = this.store.get(id);
+			if (schema != null) {
+				schemas.add(new RegisteredSchema(id, null, schema));
+			}
+			else {
+				missingIds.add(id);
+			}
+		}
+		List<SchemaReference> missingReferences = new ArrayList<>();
+		for (SchemaReference schemaReference : schemaReferences) {
+			String schema = this.store.get(schemaReference);
+			if (schema != null && !this.store.isExpired(schemaReference)) {
+				schemas.add(new RegisteredSchema(null, schemaReference, schema));
+			}
+			else {
+				missingReferences.add(schemaReference);
+			}
+		}
+		if (missingIds.isEmpty() && missingReferences.isEmpty()) {
+			return schemas;
+		}
+		List<RegisteredSchema> fetched;
+		try {
+			fetched = this.delegate.fetchAll(missingIds, missingReferences);
+		}
+		catch (ResourceAccessException | HttpServerErrorException ex) {
+			if (!missingIds.isEmpty()) {
+				throw ex;
+			}
+			for (SchemaReference schemaReference : missingReferences) {
+				String expired = this.store.get(schemaReference);
+				if (expired == null) {
+					throw ex;
+				}
+				schemas.add(new RegisteredSchema(null, schemaReference, expired));
+			}
+			return schemas;
+		}
+		schemas.addAll(storeAll(fetched));
+		return schemas;
+	}
+
+	/**
+	 * Fetch the versions of a subject from the delegate, which alone knows whether new
+	 * versions were registered, and store them.
+	 */
+	@Override
+	public List<RegisteredSchema> fetchAll(String subject, String format) {
+		return storeAll(this.delegate.fetchAll(subject, format));
+	}
+
+	private List<RegisteredSchema> storeAll(List<RegisteredSchema> schemas) {
+		for (RegisteredSchema schema : schemas) {
+			if (schema.getId() != null || schema.getSchemaReference() != null) {
+				this.store.put(schema.getId(), schema.getSchemaReference(), schema.getDefinition());
+			}
+		}
+		return schemas;
+	}
+
+}
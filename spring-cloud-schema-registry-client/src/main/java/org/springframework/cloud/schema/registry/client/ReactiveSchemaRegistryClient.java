@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.client;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+
+/**
+ * Non-blocking variant of {@link SchemaRegistryClient}.
+ *
+ * @author Spring Cloud Team
+ */
+public interface ReactiveSchemaRegistryClient {
+
+	/**
+	 * Registers a schema with the remote repository, emitting the unique identifier
+	 * associated with this schema.
+	 * @param subject the full name of the schema
+	 * @param format format of the schema
+	 * @param schema string representation of the schema
+	 * @return a {@link Mono} emitting the {@link SchemaRegistrationResponse}
+	 */
+	Mono<SchemaRegistrationResponse> register(String subject, String format, String schema);
+
+	/**
+	 * Retrieves a schema by its reference (subject and version).
+	 * @param schemaReference a {@link SchemaReference} used to identify the target
+	 * schema.
+	 * @return a {@link Mono} emitting the schema
+	 */
+	Mono<String> fetch(SchemaReference schemaReference);
+
+	/**
+	 * Retrieves a schema by its identifier.
+	 * @param id the id of the target schema.
+	 * @return a {@link Mono} emitting the schema
+	 */
+	Mono<String> fetch(int id);
+
+}
@@ -16,8 +16,17 @@
 
 package org.springframework.cloud.schema.registry.client;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.cloud.schema.registry.RegisteredSchema;
+import org.springframework.cloud.schema.registry.SchemaNotFoundException;
 import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
 import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.web.client.HttpClientErrorException;
 
 /**
  * @author Vinicius Carvalho
@@ -36,6 +45,22 @@ public interface SchemaRegistryClient {
 	 */
 	SchemaRegistrationResponse register(String subject, String format, String schema);
 
+	/**
+	 * Registers several schemas with the remote repository. The default implementation
+	 * registers each schema individually; implementations that can do so register all of
+	 * them in a single request.
+	 * @param schemas the schemas to register
+	 * @return the {@link SchemaRegistrationResponse} of each schema, in the order of the
+	 * schemas
+	 */
+	default List<SchemaRegistrationResponse> registerAll(List<SchemaRegistration> schemas) {
+		List<SchemaRegistrationResponse> responses = new ArrayList<>();
+		for (SchemaRegistration schema : schemas) {
+			responses.add(register(schema.getSubject(), schema.getFormat(), schema.getDefinition()));
+		}
+		return responses;
+	}
+
 	/**
 	 * Retrieves a schema by its reference (subject and version).
 	 * @param schemaReference a {@link SchemaReference} used to identify the target
@@ -51,4 +76,53 @@ public interface SchemaRegistryClient {
 	 */
 	String fetch(int id);
 
+	/**
+	 * Retrieves several schemas at once, by identifier and by reference. Ids and
+	 * references that do not match any schema are left out, whatever the
+	 * implementation. The default implementation fetches each schema individually;
+	 * implementations that can do so retrieve all of them in a single request.
+	 * @param ids the ids of the target schemas.
+	 * @param schemaReferences the references of the target schemas.
+	 * @return the schemas found, with their id and reference when known
+	 */
+	default List<RegisteredSchema> fetchAll(Collection<Integer> ids, Collection<SchemaReference> schemaReferences) {
+		List<RegisteredSchema> schemas = new ArrayList<>();
+		for (Integer id : ids) {
+			String definition;
+			try {
+				definition = fetch(id);
+			}
+			catch (SchemaNotFoundException | HttpClientErrorException.NotFound ex) {
+				definition = null;
+			}
+			if (definition != null) {
+				schemas.add(new RegisteredSchema(id, null, definition));
+			}
+		}
+		for (SchemaReference schemaReference : schemaReferences) {
+			String definition;
+			try {
+				definition = fetch(schemaReference);
+			}
+			catch (SchemaNotFoundException | HttpClientErrorException.NotFound ex) {
+				definition = null;
+			}
+			if (definition != null) {
+				schemas.add(new RegisteredSchema(null, schemaReference, definition));
+			}
+		}
+		return schemas;
+	}
+
+	/**
+	 * Retrieves all registered versions of a subject. The default implementation returns
+	 * an empty list, for clients that cannot enumerate the versions of a subject.
+	 * @param subject the subject of the target schemas.
+	 * @param format the format of the target schemas.
+	 * @return the schemas, in ascending order by version
+	 */
+	default List<RegisteredSchema> fetchAll(String subject, String format) {
+		return Collections.emptyList();
+	}
+
 }
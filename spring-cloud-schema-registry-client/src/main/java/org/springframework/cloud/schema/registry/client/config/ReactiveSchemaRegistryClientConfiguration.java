@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.client.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.schema.registry.client.DefaultReactiveSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.ReactiveSchemaRegistryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Configures a {@link ReactiveSchemaRegistryClient} when Spring WebFlux is on the
+ * classpath.
+ *
+ * @author Spring Cloud Team
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.web.reactive.function.client.WebClient")
+@EnableConfigurationProperties(SchemaRegistryClientProperties.class)
+public class ReactiveSchemaRegistryClientConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public ReactiveSchemaRegistryClient reactiveSchemaRegistryClient(
+			SchemaRegistryClientProperties schemaRegistryClientProperties,
+			ObjectProvider<WebClient.Builder> webClientBuilder) {
+		DefaultReactiveSchemaRegistryClient reactiveSchemaRegistryClient = new DefaultReactiveSchemaRegistryClient(
+				webClientBuilder.getIfAvailable(WebClient::builder));
+
+		if (StringUtils.hasText(schemaRegistryClientProperties.getEndpoint())) {
+			reactiveSchemaRegistryClient.setEndpoint(schemaRegistryClientProperties.getEndpoint());
+		}
+
+		return reactiveSchemaRegistryClient;
+	}
+
+}
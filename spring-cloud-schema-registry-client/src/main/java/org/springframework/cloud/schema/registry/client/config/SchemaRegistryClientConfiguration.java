@@ -16,14 +16,31 @@
 
 package org.springframework.cloud.schema.registry.client.config;
 
+import java.lang.reflect.Method;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.schema.registry.client.CachingRegistryClient;
 import org.springframework.cloud.schema.registry.client.DefaultSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.FileSchemaStore;
+import org.springframework.cloud.schema.registry.client.MeteredSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.PersistentSchemaRegistryClient;
 import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -35,21 +52,108 @@ import org.springframework.util.StringUtils;
 @EnableConfigurationProperties(SchemaRegistryClientProperties.class)
 public class SchemaRegistryClientConfiguration {
 
+	private static final boolean MICROMETER_PRESENT = ClassUtils.isPresent(
+			"io.micrometer.core.instrument.MeterRegistry", SchemaRegistryClientConfiguration.class.getClassLoader());
+
 	@Bean
 	@ConditionalOnMissingBean
 	public SchemaRegistryClient schemaRegistryClient(SchemaRegistryClientProperties schemaRegistryClientProperties,
-			RestTemplateBuilder restTemplateBuilder) {
+			RestTemplateBuilder restTemplateBuilder, ObjectProvider<FileSchemaStore> schemaStore,
+			BeanFactory beanFactory) {
 		DefaultSchemaRegistryClient defaultSchemaRegistryClient = new DefaultSchemaRegistryClient(restTemplateBuilder);
 
 		if (StringUtils.hasText(schemaRegistryClientProperties.getEndpoint())) {
 			defaultSchemaRegistryClient.setEndpoint(schemaRegistryClientProperties.getEndpoint());
 		}
 
-		SchemaRegistryClient client = (schemaRegistryClientProperties.isCached())
-				? new CachingRegistryClient(defaultSchemaRegistryClient)
+		SchemaRegistryClient remoteClient = MICROMETER_PRESENT
+				? ClientMetrics.meter(defaultSchemaRegistryClient, beanFactory)
 				: defaultSchemaRegistryClient;
 
+		FileSchemaStore store = schemaStore.getIfAvailable();
+		if (store != null) {
+			remoteClient = new PersistentSchemaRegistryClient(remoteClient, store);
+		}
+
+		SchemaRegistryClient client = (schemaRegistryClientProperties.isCached())
+				? new CachingRegistryClient(remoteClient)
+				: remoteClient;
+
 		return client;
 	}
 
+	@Bean
+	public static SchemaRegistryClientMetricsPostProcessor schemaRegistryClientMetricsPostProcessor() {
+		return new SchemaRegistryClientMetricsPostProcessor();
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.cloud.schema-registry-client.persistent-cache", name = "directory")
+	public FileSchemaStore schemaRegistryClientSchemaStore(
+			SchemaRegistryClientProperties schemaRegistryClientProperties) {
+		SchemaRegistryClientProperties.PersistentCache persistentCache = schemaRegistryClientProperties
+				.getPersistentCache();
+		return new FileSchemaStore(persistentCache.getDirectory().toPath(), persistentCache.getMaxSize().toBytes(),
+				persistentCache.getTimeToLive());
+	}
+
+	/**
+	 * Isolates the references to Micrometer, which is an optional dependency.
+	 */
+	private static final class ClientMetrics {
+
+		private ClientMetrics() {
+		}
+
+		static SchemaRegistryClient meter(SchemaRegistryClient client, BeanFactory beanFactory) {
+			MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfUnique();
+			return (registry != null) ? new MeteredSchemaRegistryClient(client, registry) : client;
+		}
+
+	}
+
+	/**
+	 * Meters the {@link SchemaRegistryClient} beans defined by the application, when
+	 * Micrometer is available and the application has a {@link MeterRegistry} bean.
+	 * Beans are only wrapped when declared as a {@link SchemaRegistryClient}, so that
+	 * beans injected by their concrete type keep it. The client configured by
+	 * {@link SchemaRegistryClientConfiguration#schemaRegistryClient} is left alone, as it already meters its calls to the
+	 * registry only, rather than its cache hits.
+	 */
+	static final class SchemaRegistryClientMetricsPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+		private ConfigurableListableBeanFactory beanFactory;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = (beanFactory instanceof ConfigurableListableBeanFactory)
+					? (ConfigurableListableBeanFactory) beanFactory : null;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if (!MICROMETER_PRESENT || !(bean instanceof SchemaRegistryClient)
+					|| bean instanceof MeteredSchemaRegistryClient || !isDeclaredAsClient(beanName)) {
+				return bean;
+			}
+			return ClientMetrics.meter((SchemaRegistryClient) bean, this.beanFactory);
+		}
+
+		private boolean isDeclaredAsClient(String beanName) {
+			if (this.beanFactory == null || !this.beanFactory.containsBeanDefinition(beanName)) {
+				return false;
+			}
+			BeanDefinition definition = this.beanFactory.getMergedBeanDefinition(beanName);
+			if (definition instanceof RootBeanDefinition) {
+				Method factoryMethod = ((RootBeanDefinition) definition).getResolvedFactoryMethod();
+				if (factoryMethod != null && ClassUtils.getUserClass(
+						factoryMethod.getDeclaringClass()) == SchemaRegistryClientConfiguration.class) {
+					return false;
+				}
+			}
+			return SchemaRegistryClient.class.equals(definition.getResolvableType().resolve());
+		}
+
+	}
+
 }
@@ -16,7 +16,11 @@
 
 package org.springframework.cloud.schema.registry.client.config;
 
+import java.io.File;
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * @author Marius Bogoevici
@@ -30,6 +34,8 @@ public class SchemaRegistryClientProperties {
 
 	private boolean cached = false;
 
+	private final PersistentCache persistentCache = new PersistentCache();
+
 	public String getEndpoint() {
 		return this.endpoint;
 	}
@@ -46,4 +52,59 @@ public class SchemaRegistryClientProperties {
 		this.cached = cached;
 	}
 
+	public PersistentCache getPersistentCache() {
+		return this.persistentCache;
+	}
+
+	/**
+	 * On-disk cache of the fetched and registered schemas, which survives restarts.
+	 */
+	public static class PersistentCache {
+
+		/**
+		 * Directory of the cache. The cache is disabled unless set.
+		 */
+		private File directory;
+
+		/**
+		 * Maximum size of the cache file. Once it is full, even after dropping the
+		 * schemas stored again since, new schemas are no longer written to it, and are
+		 * only cached in memory when 'cached' is set.
+		 */
+		private DataSize maxSize = DataSize.ofMegabytes(64);
+
+		/**
+		 * How long a schema fetched by subject and version is served from the cache
+		 * before being fetched again, as the versions of a deleted subject may be
+		 * registered again. Schemas fetched by id never expire, and expired schemas are
+		 * still served while the server can not be reached.
+		 */
+		private Duration timeToLive = Duration.ofDays(1);
+
+		public File getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(File directory) {
+			this.directory = directory;
+		}
+
+		public DataSize getMaxSize() {
+			return this.maxSize;
+		}
+
+		public void setMaxSize(DataSize maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public Duration getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+	}
+
 }
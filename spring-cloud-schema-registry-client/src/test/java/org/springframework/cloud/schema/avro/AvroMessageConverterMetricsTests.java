@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.avro;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.schema.registry.SchemaNotFoundException;
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.avro.AvroSchemaRegistryClientMessageConverter;
+import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManagerImpl;
+import org.springframework.cloud.schema.registry.avro.MicrometerConverterMetrics;
+import org.springframework.cloud.schema.registry.client.MeteredSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.config.SchemaRegistryClientConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Spring Cloud Team
+ */
+public class AvroMessageConverterMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final SchemaRegistryClient client = new MeteredSchemaRegistryClient(new StubSchemaRegistryClient(),
+			this.registry);
+
+	@Test
+	public void conversionsAndCacheAccessesAreRecorded() {
+		AvroSchemaRegistryClientMessageConverter converter = converter();
+		User1 user = new User1();
+		user.setName("joe");
+		user.setFavoriteColor("blue");
+
+		Message<?> message = converter.toMessage(user, mutableHeaders().getMessageHeaders());
+		converter.toMessage(user, mutableHeaders().getMessageHeaders());
+		User1 converted = (User1) converter.fromMessage(message, User1.class);
+
+		assertThat(converted.getName()).isEqualTo("joe");
+		assertThat(this.registry.get(MicrometerConverterMetrics.CONVERSIONS)
+				.tags("operation", "serialize", "outcome", "success").timer().count()).isEqualTo(2);
+		assertThat(this.registry.get(MicrometerConverterMetrics.CONVERSIONS)
+				.tags("operation", "deserialize", "outcome", "success").timer().count()).isEqualTo(1);
+		assertThat(this.registry.get(MicrometerConverterMetrics.PAYLOAD_SIZE)
+				.tags("operation", "serialize").summary().totalAmount())
+				.isEqualTo(2.0 * ((byte[]) message.getPayload()).length);
+		assertThat(this.registry.get(MicrometerConverterMetrics.CACHE_ACCESSES)
+				.tags("cache", AvroSchemaRegistryClientMessageConverter.REFLECTION_CACHE_NAME, "result", "miss")
+				.counter().count()).isEqualTo(1);
+		assertThat(this.registry.get(MicrometerConverterMetrics.CACHE_ACCESSES)
+				.tags("cache", AvroSchemaRegistryClientMessageConverter.REFLECTION_CACHE_NAME, "result", "hit")
+				.counter().count()).isEqualTo(1);
+		assertThat(this.registry.get(MeteredSchemaRegistryClient.REQUESTS)
+				.tags("operation", "register", "status", "SUCCESS").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void failuresAreRecorded() {
+		AvroSchemaRegistryClientMessageConverter converter = converter();
+		Message<byte[]> message = MessageBuilder.withPayload(new byte[] { 1, 2, 3 })
+				.setHeader("contentType", "application/vnd.missing.v1+avro")
+				.build();
+
+		assertThatThrownBy(() -> converter.fromMessage(message, User1.class))
+				.isInstanceOf(RuntimeException.class);
+
+		assertThat(this.registry.get(MicrometerConverterMetrics.CONVERSIONS)
+				.tags("operation", "deserialize", "outcome", "failure").timer().count()).isEqualTo(1);
+		assertThat(this.registry.get(MeteredSchemaRegistryClient.REQUESTS)
+				.tags("operation", "fetch", "status", "404").timer().count()).isEqualTo(1);
+		assertThatThrownBy(() -> this.client.fetch(new SchemaReference("missing", 2, "avro")))
+				.isInstanceOf(SchemaNotFoundException.class);
+		assertThat(this.registry.get(MeteredSchemaRegistryClient.REQUESTS)
+				.tags("operation", "fetch", "status", "404").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void clientBeansOfTheApplicationAreMetered() {
+		new ApplicationContextRunner()
+				.withUserConfiguration(SchemaRegistryClientConfiguration.class, ClientConfiguration.class)
+				.run(context -> {
+					SchemaRegistryClient client = context.getBean(SchemaRegistryClient.class);
+					assertThat(client).isInstanceOf(MeteredSchemaRegistryClient.class);
+					client.register("user", "avro", "{\"type\": \"string\"}");
+					assertThat(context.getBean(MeterRegistry.class).get(MeteredSchemaRegistryClient.REQUESTS)
+							.tags("operation", "register", "status", "SUCCESS").timer().count()).isEqualTo(1);
+				});
+		new ApplicationContextRunner()
+				.withUserConfiguration(SchemaRegistryClientConfiguration.class)
+				.withBean(SchemaRegistryClient.class, StubSchemaRegistryClient::new)
+				.run(context -> assertThat(context.getBean(SchemaRegistryClient.class))
+						.isInstanceOf(StubSchemaRegistryClient.class));
+	}
+
+	private AvroSchemaRegistryClientMessageConverter converter() {
+		AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(
+				this.client, new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		converter.setDynamicSchemaGenerationEnabled(true);
+		converter.setConverterMetrics(new MicrometerConverterMetrics(this.registry));
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	private static MessageHeaderAccessor mutableHeaders() {
+		MessageHeaderAccessor accessor = new MessageHeaderAccessor();
+		accessor.setLeaveMutable(true);
+		return accessor;
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ClientConfiguration {
+
+		@Bean
+		SchemaRegistryClient schemaRegistryClient() {
+			return new StubSchemaRegistryClient();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
+}
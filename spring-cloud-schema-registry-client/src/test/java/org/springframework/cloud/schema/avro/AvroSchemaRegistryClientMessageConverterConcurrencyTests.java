@@ -0,0 +1,272 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.avro;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import example.avro.User;
+import org.apache.avro.Schema;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.cloud.schema.registry.avro.AvroSchemaRegistryClientMessageConverter;
+import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManagerImpl;
+import org.springframework.cloud.schema.registry.avro.DefaultSubjectNamingStrategy;
+import org.springframework.cloud.schema.registry.client.ReactiveSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
+import org.springframework.integration.support.MutableMessageHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AvroSchemaRegistryClientMessageConverterConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	@Test
+	public void testConcurrentRegistrationsAreCoalesced() throws Exception {
+		GatedSchemaRegistryClient client = new GatedSchemaRegistryClient();
+		AvroSchemaRegistryClientMessageConverter converter = createConverter(client);
+		User user = new User();
+		user.setName("joe");
+
+		List<Object> contentTypes = convertConcurrently(client, client.registrations,
+				() -> converter.toMessage(user, new MutableMessageHeaders(Collections.emptyMap()))
+						.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+
+		assertThat(client.registrations.get()).isEqualTo(1);
+		assertThat(contentTypes).hasSize(THREADS).containsOnly("application/vnd.user.v1+avro");
+	}
+
+	@Test
+	public void testReactiveAndBlockingRegistrationsAreCoalesced() throws Exception {
+		GatedSchemaRegistryClient client = new GatedSchemaRegistryClient();
+		AvroSchemaRegistryClientMessageConverter converter = createConverter(client);
+		SchemaRegistryClient registry = new StubSchemaRegistryClient();
+		AtomicInteger reactiveRegistrations = new AtomicInteger();
+		Sinks.Empty<Void> release = Sinks.empty();
+		converter.setReactiveSchemaRegistryClient(new ReactiveSchemaRegistryClient() {
+			@Override
+			public Mono<SchemaRegistrationResponse> register(String subject, String format, String schema) {
+				reactiveRegistrations.incrementAndGet();
+				return release.asMono().then(Mono.fromCallable(() -> registry.register(subject, format, schema)));
+			}
+
+			@Override
+			public Mono<String> fetch(SchemaReference schemaReference) {
+				return Mono.error(new UnsupportedOperationException());
+			}
+
+			@Override
+			public Mono<String> fetch(int id) {
+				return Mono.error(new UnsupportedOperationException());
+			}
+		});
+		User user = new User();
+		user.setName("joe");
+
+		CompletableFuture<String> first = converter.prefetchRegistration(user).toFuture();
+		CompletableFuture<String> second = converter.prefetchRegistration(user).toFuture();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> blocking = executor.submit(() -> converter.toMessage(user,
+					new MutableMessageHeaders(Collections.emptyMap())).getHeaders().get(MessageHeaders.CONTENT_TYPE));
+			Thread.sleep(200);
+			assertThat(blocking.isDone()).isFalse();
+			release.tryEmitEmpty();
+
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("application/vnd.user.v1+avro");
+			assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("application/vnd.user.v1+avro");
+			assertThat(blocking.get(10, TimeUnit.SECONDS)).isEqualTo("application/vnd.user.v1+avro");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(reactiveRegistrations.get()).isEqualTo(1);
+		assertThat(client.registrations.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void testConcurrentFetchesAreCoalesced() throws Exception {
+		GatedSchemaRegistryClient client = new GatedSchemaRegistryClient();
+		User user = new User();
+		user.setName("joe");
+		Message<?> outbound = createConverter(client).toMessage(user,
+				new MutableMessageHeaders(Collections.emptyMap()));
+		Message<?> inbound = MessageBuilder.withPayload(outbound.getPayload())
+				.setHeader(MessageHeaders.CONTENT_TYPE, outbound.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+				.build();
+		AvroSchemaRegistryClientMessageConverter converter = createConverter(client);
+
+		List<Object> users = convertConcurrently(client, client.fetches,
+				() -> converter.fromMessage(inbound, User.class));
+
+		assertThat(client.fetches.get()).isEqualTo(1);
+		assertThat(users).hasSize(THREADS).containsOnly(user);
+	}
+
+	@Test
+	public void testReactiveAndBlockingFetchesAreCoalesced() throws Exception {
+		GatedSchemaRegistryClient client = new GatedSchemaRegistryClient();
+		User user = new User();
+		user.setName("joe");
+		Message<?> outbound = createConverter(client).toMessage(user,
+				new MutableMessageHeaders(Collections.emptyMap()));
+		String contentType = (String) outbound.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+		Message<?> inbound = MessageBuilder.withPayload(outbound.getPayload())
+				.setHeader(MessageHeaders.CONTENT_TYPE, contentType)
+				.build();
+		AvroSchemaRegistryClientMessageConverter converter = createConverter(client);
+		AtomicInteger reactiveFetches = new AtomicInteger();
+		Sinks.Empty<Void> release = Sinks.empty();
+		converter.setReactiveSchemaRegistryClient(new ReactiveSchemaRegistryClient() {
+			@Override
+			public Mono<SchemaRegistrationResponse> register(String subject, String format, String schema) {
+				return Mono.error(new UnsupportedOperationException());
+			}
+
+			@Override
+			public Mono<String> fetch(SchemaReference schemaReference) {
+				reactiveFetches.incrementAndGet();
+				return release.asMono().then(Mono.fromCallable(() -> client.delegate.fetch(schemaReference)));
+			}
+
+			@Override
+			public Mono<String> fetch(int id) {
+				return Mono.error(new UnsupportedOperationException());
+			}
+		});
+
+		CompletableFuture<Schema> first = converter.prefetchWriterSchema(MimeType.valueOf(contentType)).toFuture();
+		CompletableFuture<Schema> second = converter.prefetchWriterSchema(MimeType.valueOf(contentType)).toFuture();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> blocking = executor.submit(() -> converter.fromMessage(inbound, User.class));
+			Thread.sleep(200);
+			assertThat(blocking.isDone()).isFalse();
+			release.tryEmitEmpty();
+
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(User.getClassSchema());
+			assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(User.getClassSchema());
+			assertThat(blocking.get(10, TimeUnit.SECONDS)).isEqualTo(user);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(reactiveFetches.get()).isEqualTo(1);
+		assertThat(client.fetches.get()).isEqualTo(0);
+	}
+
+	private static AvroSchemaRegistryClientMessageConverter createConverter(SchemaRegistryClient client) {
+		AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		converter.setSubjectNamingStrategy(new DefaultSubjectNamingStrategy());
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	/**
+	 * Run the conversion on {@link #THREADS} threads while the registry holds back the
+	 * first request, so that all of them miss the cache at the same time.
+	 */
+	private static List<Object> convertConcurrently(GatedSchemaRegistryClient client, AtomicInteger requests,
+			Callable<Object> conversion) throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		client.gate = gate;
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Object>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(conversion));
+			}
+			long deadline = System.currentTimeMillis() + 10000;
+			while (requests.get() == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			Thread.sleep(200);
+			gate.countDown();
+			List<Object> results = new ArrayList<>();
+			for (Future<Object> future : futures) {
+				results.add(future.get(10, TimeUnit.SECONDS));
+			}
+			return results;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	static class GatedSchemaRegistryClient implements SchemaRegistryClient {
+
+		final AtomicInteger registrations = new AtomicInteger();
+
+		final AtomicInteger fetches = new AtomicInteger();
+
+		private final SchemaRegistryClient delegate = new StubSchemaRegistryClient();
+
+		volatile CountDownLatch gate = new CountDownLatch(0);
+
+		@Override
+		public SchemaRegistrationResponse register(String subject, String format, String schema) {
+			this.registrations.incrementAndGet();
+			awaitGate();
+			return this.delegate.register(subject, format, schema);
+		}
+
+		@Override
+		public String fetch(SchemaReference schemaReference) {
+			this.fetches.incrementAndGet();
+			awaitGate();
+			return this.delegate.fetch(schemaReference);
+		}
+
+		@Override
+		public String fetch(int id) {
+			this.fetches.incrementAndGet();
+			awaitGate();
+			return this.delegate.fetch(id);
+		}
+
+		private void awaitGate() {
+			try {
+				this.gate.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
@@ -17,8 +17,12 @@
 package org.springframework.cloud.schema.avro;
 
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,12 +30,16 @@ import com.fasterxml.jackson.dataformat.avro.AvroFactory;
 import com.fasterxml.jackson.dataformat.avro.AvroMapper;
 import com.fasterxml.jackson.dataformat.avro.AvroSchema;
 import com.fasterxml.jackson.dataformat.avro.schema.AvroSchemaGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaParseException;
 import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.assertj.core.util.Lists;
@@ -41,7 +49,9 @@ import org.springframework.cloud.schema.avro.domain.FoodOrder;
 import org.springframework.cloud.schema.registry.avro.AvroSchemaMessageConverter;
 import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManager;
 import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManagerImpl;
+import org.springframework.cloud.schema.registry.avro.MicrometerConverterMetrics;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.messaging.Message;
 import org.springframework.util.MimeType;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -172,6 +182,138 @@ public class AvroSchemaServiceManagerTests {
 		assertThat(schema).isEqualTo(converter5.getSchema());
 	}
 
+	@Test
+	public void testDatumWriterIsCached() {
+		AvroSchemaServiceManagerImpl manager = new AvroSchemaServiceManagerImpl();
+		Schema schema = manager.getSchema(FoodOrder.class);
+
+		DatumWriter<Object> writer = manager.getDatumWriter(FoodOrder.class, schema);
+		assertThat(manager.getDatumWriter(FoodOrder.class, schema)).isSameAs(writer);
+		assertThat(manager.getDatumWriter(FoodOrder.class, new Schema.Parser().parse(schema.toString())))
+				.isNotSameAs(writer);
+		assertThat(manager.getWriterCacheMisses()).isEqualTo(2);
+		assertThat(manager.getWriterCacheHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void testDatumReaderIsCachedPerSchemaPair() throws IOException {
+		AvroSchemaServiceManagerImpl manager = new AvroSchemaServiceManagerImpl();
+		Schema schema = manager.getSchema(FoodOrder.class);
+		FoodOrder foodOrder = new FoodOrder();
+		foodOrder.setRestaurant("Spring Kitchen");
+		foodOrder.setOrderDescription("avro makhani");
+		foodOrder.setCustomerAddress("world wide web");
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Encoder encoder = EncoderFactory.get().binaryEncoder(baos, null);
+		manager.getDatumWriter(FoodOrder.class, schema).write(foodOrder, encoder);
+		encoder.flush();
+		byte[] payload = baos.toByteArray();
+
+		for (int i = 0; i < 3; i++) {
+			FoodOrder result = (FoodOrder) manager.readData(FoodOrder.class, payload, schema, schema);
+			assertThat(result.getRestaurant()).isEqualTo("Spring Kitchen");
+		}
+		manager.readData(FoodOrder.class, payload, null, schema);
+
+		assertThat(manager.getReaderCacheMisses()).isEqualTo(2);
+		assertThat(manager.getReaderCacheHits()).isEqualTo(2);
+		assertThat(manager.getReaderCacheSize()).isEqualTo(2);
+	}
+
+	@Test
+	public void testPooledCodecsRoundTrip() {
+		AvroSchemaServiceManagerImpl manager = new AvroSchemaServiceManagerImpl();
+		manager.setDecoderPoolSize(2);
+		AvroSchemaMessageConverter converter = new AvroSchemaMessageConverter(manager);
+		converter.setCodecPoolSize(2);
+		converter.setSchema(manager.getSchema(FoodOrder.class));
+
+		for (int i = 0; i < 3; i++) {
+			FoodOrder foodOrder = new FoodOrder();
+			foodOrder.setRestaurant("Spring Kitchen " + i);
+			foodOrder.setOrderDescription(i % 2 == 0 ? "avro makhani" : "a much longer order description");
+			foodOrder.setCustomerAddress("world wide web");
+			Message<?> message = converter.toMessage(foodOrder, null);
+			FoodOrder result = (FoodOrder) converter.fromMessage(message, FoodOrder.class);
+			assertThat(result.getRestaurant()).isEqualTo(foodOrder.getRestaurant());
+			assertThat(result.getOrderDescription()).isEqualTo(foodOrder.getOrderDescription());
+		}
+	}
+
+	@Test
+	public void testPooledEncodersDoNotOverwriteHandedOutPayloads() {
+		AvroSchemaServiceManagerImpl manager = new AvroSchemaServiceManagerImpl();
+		AvroSchemaMessageConverter converter = new AvroSchemaMessageConverter(manager);
+		converter.setCodecPoolSize(1);
+		converter.setSchema(manager.getSchema(FoodOrder.class));
+
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			FoodOrder foodOrder = new FoodOrder();
+			foodOrder.setRestaurant("Spring Kitchen " + i);
+			foodOrder.setOrderDescription("avro makhani");
+			foodOrder.setCustomerAddress("world wide web");
+			messages.add(converter.toMessage(foodOrder, null));
+		}
+
+		for (int i = 0; i < messages.size(); i++) {
+			FoodOrder result = (FoodOrder) converter.fromMessage(messages.get(i), FoodOrder.class);
+			assertThat(result.getRestaurant()).isEqualTo("Spring Kitchen " + i);
+		}
+	}
+
+	@Test
+	public void testEncodedSizeEstimate() {
+		AvroSchemaServiceManager manager = new AvroSchemaServiceManagerImpl();
+		AvroSchemaMessageConverter converter = new AvroSchemaMessageConverter(manager);
+		Schema schema = manager.getSchema(FoodOrder.class);
+		converter.setSchema(schema);
+		FoodOrder foodOrder = new FoodOrder();
+		foodOrder.setRestaurant("Spring Kitchen");
+		foodOrder.setOrderDescription("avro makhani");
+		foodOrder.setCustomerAddress("world wide web");
+
+		assertThat(converter.getEncodedSizeEstimate(schema)).isZero();
+		byte[] first = (byte[]) converter.toMessage(foodOrder, null).getPayload();
+		byte[] second = (byte[]) converter.toMessage(foodOrder, null).getPayload();
+
+		assertThat(second).isEqualTo(first);
+		assertThat(converter.getEncodedSizeEstimate(schema)).isEqualTo(first.length);
+		assertThat(converter.getEncodedSizeEstimates()).hasSize(1).allSatisfy((key, size) -> {
+			assertThat(key).startsWith(schema.getFullName() + ":");
+			assertThat(size).isEqualTo(first.length);
+		});
+	}
+
+	@Test
+	public void testEncodedSizeEstimatesAreKeptPerVersionForTheMostRecentSchemas() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AvroSchemaMessageConverter converter = new AvroSchemaMessageConverter(new AvroSchemaServiceManagerImpl());
+		converter.setConverterMetrics(new MicrometerConverterMetrics(registry));
+		Schema first = null;
+		Schema last = null;
+		for (int version = 1; version <= 300; version++) {
+			last = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"Counter\", "
+					+ "\"namespace\": \"test\", \"fields\": [{\"name\": \"v" + version
+					+ "\", \"type\": \"int\"}]}");
+			first = (first != null) ? first : last;
+			GenericData.Record record = new GenericData.Record(last);
+			record.put(0, version);
+			converter.setSchema(last);
+			converter.toMessage(record, null);
+		}
+
+		Map<String, Integer> estimates = converter.getEncodedSizeEstimates();
+		assertThat(estimates).hasSize(256);
+		assertThat(estimates.keySet()).allMatch(key -> key.startsWith("test.Counter:"));
+		assertThat(converter.getEncodedSizeEstimate(first)).isZero();
+		assertThat(converter.getEncodedSizeEstimate(last)).isEqualTo(2);
+		assertThat(registry.find(MicrometerConverterMetrics.SIZE_ESTIMATE).gauges()).hasSize(256);
+		assertThat(registry.find(MicrometerConverterMetrics.SIZE_ESTIMATE).tag("schema", "test.Counter")
+				.gauges()).extracting(gauge -> gauge.value()).contains(2.0);
+	}
+
 	@Test(expected = SchemaParseException.class)
 	public void testAvroSchemaMessageConverterException() {
 		MimeType mimeType = new MimeType("application", "avro");
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.avro.client;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistration;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.cloud.schema.registry.client.DefaultSchemaRegistryClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * @author Spring Cloud Team
+ */
+public class DefaultSchemaRegistryClientTests {
+
+	private RestTemplate restTemplate;
+
+	private MockRestServiceServer mockRestServiceServer;
+
+	@Before
+	public void setup() {
+		this.restTemplate = new RestTemplate();
+		this.mockRestServiceServer = MockRestServiceServer.createServer(this.restTemplate);
+	}
+
+	@Test
+	public void registerAllFallsBackToSingleRegistrationsWithoutBatchEndpoint() {
+		this.mockRestServiceServer
+				.expect(requestTo("http://localhost:8990/batch"))
+				.andExpect(method(HttpMethod.POST))
+				.andRespond(withStatus(HttpStatus.METHOD_NOT_ALLOWED));
+		for (int id = 1; id <= 4; id++) {
+			this.mockRestServiceServer
+					.expect(requestTo("http://localhost:8990"))
+					.andExpect(method(HttpMethod.POST))
+					.andRespond(withSuccess("{\"id\":" + id + ",\"version\":" + id + ",\"format\":\"avro\"}",
+							MediaType.APPLICATION_JSON));
+		}
+
+		DefaultSchemaRegistryClient client = new DefaultSchemaRegistryClient(this.restTemplate);
+		List<SchemaRegistration> schemas = Arrays.asList(new SchemaRegistration("user", "avro", "{}"),
+				new SchemaRegistration("user", "avro", "{\"type\":\"int\"}"));
+		List<SchemaRegistrationResponse> responses = client.registerAll(schemas);
+		assertThat(responses).extracting(SchemaRegistrationResponse::getId).containsExactly(1, 2);
+		assertThat(client.registerAll(schemas)).extracting(SchemaRegistrationResponse::getId).containsExactly(3, 4);
+		this.mockRestServiceServer.verify();
+	}
+
+	@Test
+	public void fetchRevalidatesWithETag() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"1-abc\"");
+		this.mockRestServiceServer
+				.expect(requestTo("http://localhost:8990/user/avro/v1"))
+				.andExpect(method(HttpMethod.GET))
+				.andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+				.andRespond(withSuccess("{\"id\":1,\"subject\":\"user\",\"format\":\"avro\",\"version\":1,"
+						+ "\"definition\":\"{}\"}", MediaType.APPLICATION_JSON).headers(headers));
+		this.mockRestServiceServer
+				.expect(requestTo("http://localhost:8990/user/avro/v1"))
+				.andExpect(method(HttpMethod.GET))
+				.andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1-abc\""))
+				.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+		DefaultSchemaRegistryClient client = new DefaultSchemaRegistryClient(this.restTemplate);
+		assertThat(client.fetch(new SchemaReference("user", 1, "avro"))).isEqualTo("{}");
+		assertThat(client.fetch(new SchemaReference("user", 1, "avro"))).isEqualTo("{}");
+		this.mockRestServiceServer.verify();
+	}
+
+	@Test
+	public void fetchWithoutETagIsNotConditional() {
+		for (int i = 0; i < 2; i++) {
+			this.mockRestServiceServer
+					.expect(requestTo("http://localhost:8990/schemas/1"))
+					.andExpect(method(HttpMethod.GET))
+					.andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+					.andRespond(withSuccess("{\"id\":1,\"definition\":\"{}\"}", MediaType.APPLICATION_JSON));
+		}
+
+		DefaultSchemaRegistryClient client = new DefaultSchemaRegistryClient(this.restTemplate);
+		assertThat(client.fetch(1)).isEqualTo("{}");
+		assertThat(client.fetch(1)).isEqualTo("{}");
+		this.mockRestServiceServer.verify();
+	}
+
+}
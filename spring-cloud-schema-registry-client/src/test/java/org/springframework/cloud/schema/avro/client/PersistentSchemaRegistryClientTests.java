@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.avro.client;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cloud.schema.registry.RegisteredSchema;
+import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
+import org.springframework.cloud.schema.registry.client.FileSchemaStore;
+import org.springframework.cloud.schema.registry.client.PersistentSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Spring Cloud Team
+ */
+public class PersistentSchemaRegistryClientTests {
+
+	private static final long MAX_SIZE = 1024 * 1024;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void schemasAreServedFromTheStoreAfterARestart() throws Exception {
+		Path directory = this.folder.getRoot().toPath();
+		RecordingClient remote = new RecordingClient();
+		try (FileSchemaStore store = new FileSchemaStore(directory, MAX_SIZE)) {
+			SchemaRegistryClient client = new PersistentSchemaRegistryClient(remote, store);
+			client.register("user", "avro", "{\"v\": 1}");
+			assertThat(client.fetch(1)).isEqualTo("{\"v\": 1}");
+			assertThat(client.fetch(new SchemaReference("user", 1, "avro"))).isEqualTo("{\"v\": 1}");
+		}
+		assertThat(remote.calls.get()).isEqualTo(1);
+
+		remote.available = false;
+		try (FileSchemaStore store = new FileSchemaStore(directory, MAX_SIZE)) {
+			SchemaRegistryClient client = new PersistentSchemaRegistryClient(remote, store);
+			assertThat(client.fetch(1)).isEqualTo("{\"v\": 1}");
+			assertThat(client.fetch(new SchemaReference("user", 1, "avro"))).isEqualTo("{\"v\": 1}");
+			List<RegisteredSchema> schemas = client.fetchAll(Collections.singletonList(1), Collections.emptyList());
+			assertThat(schemas).extracting(RegisteredSchema::getDefinition).containsExactly("{\"v\": 1}");
+			SchemaRegistrationResponse response = client.register("user", "avro", "{\"v\": 1}");
+			assertThat(response.getId()).isEqualTo(1);
+			assertThat(response.getSchemaReference()).isEqualTo(new SchemaReference("user", 1, "avro"));
+			assertThatThrownBy(() -> client.register("user", "avro", "{\"v\": 2}"))
+					.isInstanceOf(ResourceAccessException.class);
+		}
+	}
+
+	@Test
+	public void corruptedEndOfTheLogIsDiscarded() throws Exception {
+		Path directory = this.folder.getRoot().toPath();
+		try (FileSchemaStore store = new FileSchemaStore(directory, MAX_SIZE)) {
+			store.put(1, null, "first");
+			store.put(2, null, "second");
+		}
+		Path file = directory.resolve(FileSchemaStore.FILE_NAME);
+		long size = Files.size(file);
+		try (RandomAccessFile log = new RandomAccessFile(file.toFile(), "rw")) {
+			log.seek(size - 1);
+			log.write('X');
+		}
+
+		try (FileSchemaStore store = new FileSchemaStore(directory, MAX_SIZE)) {
+			assertThat(store.get(1)).isEqualTo("first");
+			assertThat(store.get(2)).isNull();
+			store.put(3, null, "third");
+		}
+		try (FileSchemaStore store = new FileSchemaStore(directory, MAX_SIZE)) {
+			assertThat(store.get(1)).isEqualTo("first");
+			assertThat(store.get(3)).isEqualTo("third");
+		}
+	}
+
+	@Test
+	public void logDoesNotGrowBeyondItsMaximumSize() throws IOException {
+		Path directory = this.folder.getRoot().toPath();
+		String definition = new String(new char[100]).replace('\0', 'x');
+		try (FileSchemaStore store = new FileSchemaStore(directory, 1000)) {
+			for (int id = 1; id <= 20; id++) {
+				store.put(id, null, definition);
+			}
+			assertThat(store.get(1)).isEqualTo(definition);
+			assertThat(store.get(20)).isNull();
+			assertThat(store.size()).isLessThan(20);
+		}
+		assertThat(Files.size(directory.resolve(FileSchemaStore.FILE_NAME))).isLessThanOrEqualTo(1000);
+		try (FileSchemaStore store = new FileSchemaStore(directory, 1000)) {
+			assertThat(store.get(1)).isEqualTo(definition);
+			assertThat(store.get(20)).isNull();
+		}
+	}
+
+	@Test
+	public void expiredSchemasAreFetchedAgainUnlessTheServerIsUnavailable() throws IOException {
+		Path directory = this.folder.getRoot().toPath();
+		RecordingClient remote = new RecordingClient();
+		SchemaReference reference = new SchemaReference("user", 1, "avro");
+		try (FileSchemaStore store = new FileSchemaStore(directory, MAX_SIZE, Duration.ZERO)) {
+			SchemaRegistryClient client = new PersistentSchemaRegistryClient(remote, store);
+			client.register("user", "avro", "{\"v\": 1}");
+			assertThat(client.fetch(1)).isEqualTo("{\"v\": 1}");
+			assertThat(client.fetch(reference)).isEqualTo("{\"v\": 1}");
+			assertThat(remote.calls.get()).isEqualTo(2);
+
+			remote.definitions.put(1, "{\"v\": 2}");
+			assertThat(client.fetch(reference)).isEqualTo("{\"v\": 2}");
+			assertThat(remote.calls.get()).isEqualTo(3);
+
+			remote.available = false;
+			assertThat(client.fetch(reference)).isEqualTo("{\"v\": 2}");
+			assertThat(client.fetchAll(Collections.emptyList(), Collections.singletonList(reference)))
+					.extracting(RegisteredSchema::getDefinition).containsExactly("{\"v\": 2}");
+		}
+	}
+
+	/**
+	 * Client assigning ids and versions in order of registration, which can be made
+	 * unavailable.
+	 */
+	private static class RecordingClient implements SchemaRegistryClient {
+
+		private final Map<Integer, String> definitions = new HashMap<>();
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private boolean available = true;
+
+		@Override
+		public SchemaRegistrationResponse register(String subject, String format, String schema) {
+			call();
+			int id = this.definitions.size() + 1;
+			SchemaRegistrationResponse response = new SchemaRegistrationResponse();
+			response.setId(id);
+			response.setSchemaReference(new SchemaReference(subject, id, format));
+			this.definitions.put(id, schema);
+			return response;
+		}
+
+		@Override
+		public String fetch(SchemaReference schemaReference) {
+			call();
+			return this.definitions.get(schemaReference.getVersion());
+		}
+
+		@Override
+		public String fetch(int id) {
+			call();
+			return this.definitions.get(id);
+		}
+
+		private void call() {
+			if (!this.available) {
+				throw new ResourceAccessException("Connection refused");
+			}
+			this.calls.incrementAndGet();
+		}
+
+	}
+
+}
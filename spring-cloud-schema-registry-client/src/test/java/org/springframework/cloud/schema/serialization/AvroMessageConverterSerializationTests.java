@@ -17,7 +17,12 @@
 package org.springframework.cloud.schema.serialization;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,22 +47,36 @@ import org.junit.Test;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.cloud.schema.registry.EnableSchemaRegistryServer;
+import org.springframework.cloud.schema.registry.RegisteredSchema;
+import org.springframework.cloud.schema.registry.SchemaNotFoundException;
 import org.springframework.cloud.schema.registry.SchemaReference;
+import org.springframework.cloud.schema.registry.SchemaRegistrationResponse;
 import org.springframework.cloud.schema.registry.avro.AvroSchemaRegistryClientMessageConverter;
 import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManager;
 import org.springframework.cloud.schema.registry.avro.AvroSchemaServiceManagerImpl;
 import org.springframework.cloud.schema.registry.avro.DefaultSubjectNamingStrategy;
+import org.springframework.cloud.schema.registry.avro.QualifiedSubjectNamingStrategy;
+import org.springframework.cloud.schema.registry.client.CachingRegistryClient;
+import org.springframework.cloud.schema.registry.client.DefaultReactiveSchemaRegistryClient;
 import org.springframework.cloud.schema.registry.client.DefaultSchemaRegistryClient;
+import org.springframework.cloud.schema.registry.client.ReactiveSchemaRegistryClient;
 import org.springframework.cloud.schema.registry.client.SchemaRegistryClient;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.integration.support.MutableMessageHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -180,6 +199,270 @@ public class AvroMessageConverterSerializationTests {
 		assertThat(genericRef.getVersion()).isEqualTo(1);
 	}
 
+	@Test
+	public void testQualifiedSubjectContentTypeRoundTrip() {
+		SchemaRegistryClient client = new DefaultSchemaRegistryClient(restTemplateBuilder);
+		AvroSchemaServiceManager manager = new AvroSchemaServiceManagerImpl();
+		AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), manager);
+		converter.setSubjectNamingStrategy(new QualifiedSubjectNamingStrategy());
+		converter.setDynamicSchemaGenerationEnabled(false);
+		converter.afterPropertiesSet();
+		User specificRecord = new User();
+		specificRecord.setName("joe");
+
+		Message<?> message = converter.toMessage(specificRecord,
+				new MutableMessageHeaders(Collections.<String, Object>emptyMap()),
+				MimeTypeUtils.parseMimeType("application/*+avro"));
+		String contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE).toString();
+		assertThat(contentType).isEqualTo("application/vnd.example.avro.user.v1+avro");
+
+		for (int i = 0; i < 2; i++) {
+			Message<?> inbound = MessageBuilder.withPayload(message.getPayload())
+					.setHeader(MessageHeaders.CONTENT_TYPE, contentType)
+					.build();
+			User converted = (User) converter.fromMessage(inbound, User.class);
+			assertThat(converted.getName().toString()).isEqualTo("joe");
+		}
+	}
+
+	@Test
+	public void testContentTypeHeaderWithImmutableAndMutableHeaders() {
+		SchemaRegistryClient client = new DefaultSchemaRegistryClient(restTemplateBuilder);
+		AvroSchemaServiceManager manager = new AvroSchemaServiceManagerImpl();
+		AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), manager);
+		converter.setSubjectNamingStrategy(new DefaultSubjectNamingStrategy());
+		converter.setDynamicSchemaGenerationEnabled(false);
+		converter.afterPropertiesSet();
+		User specificRecord = new User();
+		specificRecord.setName("joe");
+
+		MessageHeaders immutableHeaders = new MessageHeaders(Collections.singletonMap("key", "value"));
+		Message<?> first = converter.toMessage(specificRecord, immutableHeaders);
+		assertThat(first.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+				.isEqualTo(MimeType.valueOf("application/vnd.user.v1+avro"));
+		assertThat(first.getHeaders().get("key")).isEqualTo("value");
+		assertThat(immutableHeaders.get(MessageHeaders.CONTENT_TYPE)).isNull();
+		User converted = (User) converter.fromMessage(first, User.class);
+		assertThat(converted.getName().toString()).isEqualTo("joe");
+
+		Message<?> withContentType = converter.toMessage(specificRecord, new MessageHeaders(
+				Collections.singletonMap(MessageHeaders.CONTENT_TYPE, "application/*+avro")));
+		assertThat(withContentType.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo("application/*+avro");
+
+		MessageHeaderAccessor accessor = new MessageHeaderAccessor();
+		accessor.setContentType(MimeTypeUtils.parseMimeType("application/*+avro"));
+		accessor.setLeaveMutable(true);
+		Message<?> second = converter.toMessage(specificRecord, accessor.getMessageHeaders());
+		assertThat(second.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+				.isEqualTo("application/vnd.user.v1+avro");
+	}
+
+	@Test
+	public void testContentTypeIsCachedPerPrefix() {
+		SchemaRegistryClient client = new DefaultSchemaRegistryClient(restTemplateBuilder);
+		AvroSchemaServiceManager manager = new AvroSchemaServiceManagerImpl();
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+		User specificRecord = new User();
+		specificRecord.setName("joe");
+
+		List<Object> contentTypes = new ArrayList<>();
+		for (String prefix : new String[] { "vnd", "acme" }) {
+			AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(
+					client, cacheManager, manager);
+			converter.setSubjectNamingStrategy(new DefaultSubjectNamingStrategy());
+			converter.setDynamicSchemaGenerationEnabled(false);
+			converter.setPrefix(prefix);
+			converter.afterPropertiesSet();
+			contentTypes.add(converter.toMessage(specificRecord,
+					new MutableMessageHeaders(Collections.<String, Object>emptyMap()))
+					.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+		}
+		assertThat(contentTypes).containsExactly("application/vnd.user.v1+avro", "application/acme.user.v1+avro");
+	}
+
+	@Test
+	public void testReactiveClientPrefetch() {
+		ReactiveSchemaRegistryClient reactiveClient = new DefaultReactiveSchemaRegistryClient(WebClient.builder());
+		Schema v1 = User.getClassSchema();
+		SchemaRegistrationResponse response = reactiveClient.register("user", "avro", v1.toString()).block();
+		assertThat(response.getSchemaReference().getVersion()).isEqualTo(1);
+		assertThat(reactiveClient.fetch(response.getSchemaReference()).block()).isEqualTo(v1.toString());
+		assertThat(reactiveClient.fetch(response.getId()).block()).isEqualTo(v1.toString());
+
+		SchemaRegistryClient client = new DefaultSchemaRegistryClient(restTemplateBuilder);
+		AvroSchemaRegistryClientMessageConverter writer = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		writer.setSubjectNamingStrategy(new DefaultSubjectNamingStrategy());
+		writer.setReactiveSchemaRegistryClient(reactiveClient);
+		writer.afterPropertiesSet();
+		User specificRecord = new User();
+		specificRecord.setName("joe");
+		assertThat(writer.prefetchRegistration(specificRecord).block()).isEqualTo("application/vnd.user.v1+avro");
+		Message<?> message = writer.toMessage(specificRecord,
+				new MutableMessageHeaders(Collections.<String, Object>emptyMap()));
+
+		AvroSchemaRegistryClientMessageConverter reader = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		reader.setReactiveSchemaRegistryClient(reactiveClient);
+		reader.afterPropertiesSet();
+		MimeType contentType = MimeType.valueOf("application/vnd.user.v1+avro");
+		assertThat(reader.prefetchWriterSchema(contentType).block()).isEqualTo(v1);
+		User converted = (User) reader.fromMessage(message, User.class);
+		assertThat(converted.getName().toString()).isEqualTo("joe");
+	}
+
+	@Test
+	public void testFetchAllFillsCachingClient() {
+		AtomicInteger batches = new AtomicInteger();
+		SchemaRegistryClient client = new DefaultSchemaRegistryClient(restTemplateBuilder) {
+			@Override
+			public List<RegisteredSchema> fetchAll(Collection<Integer> ids, Collection<SchemaReference> references) {
+				batches.incrementAndGet();
+				return super.fetchAll(ids, references);
+			}
+		};
+		Schema v1 = User.getClassSchema();
+		SchemaRegistrationResponse response = client.register("user", "avro", v1.toString());
+
+		List<RegisteredSchema> schemas = client.fetchAll(Collections.singletonList(response.getId()),
+				Arrays.asList(response.getSchemaReference(), new SchemaReference("missing", 1, "avro")));
+		assertThat(schemas).hasSize(1);
+		assertThat(schemas.get(0).getId()).isEqualTo(response.getId());
+		assertThat(schemas.get(0).getSchemaReference()).isEqualTo(response.getSchemaReference());
+		assertThat(schemas.get(0).getDefinition()).isEqualTo(v1.toString());
+
+		CachingRegistryClient cachingClient = new CachingRegistryClient(client);
+		ReflectionTestUtils.setField(cachingClient, "cacheManager", new ConcurrentMapCacheManager());
+		assertThat(cachingClient.fetchAll(Collections.emptyList(),
+				Collections.singletonList(response.getSchemaReference()))).hasSize(1);
+		assertThat(batches.get()).isEqualTo(2);
+		assertThat(cachingClient.fetchAll(Collections.singletonList(response.getId()),
+				Collections.singletonList(response.getSchemaReference())))
+				.extracting(RegisteredSchema::getDefinition).containsExactly(v1.toString(), v1.toString());
+		assertThat(batches.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testDefaultFetchAllLeavesOutMissingSchemas() {
+		String definition = User.getClassSchema().toString();
+		SchemaReference found = new SchemaReference("user", 1, "avro");
+		SchemaRegistryClient client = new SchemaRegistryClient() {
+			@Override
+			public SchemaRegistrationResponse register(String subject, String format, String schema) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public String fetch(SchemaReference schemaReference) {
+				if (found.equals(schemaReference)) {
+					return definition;
+				}
+				throw new SchemaNotFoundException("missing " + schemaReference);
+			}
+
+			@Override
+			public String fetch(int id) {
+				if (id == 1) {
+					return definition;
+				}
+				if (id == 2) {
+					return null;
+				}
+				throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY,
+						null, null);
+			}
+		};
+
+		List<RegisteredSchema> schemas = client.fetchAll(Arrays.asList(1, 2, 3),
+				Arrays.asList(found, new SchemaReference("missing", 1, "avro")));
+		assertThat(schemas).hasSize(2);
+		assertThat(schemas.get(0).getId()).isEqualTo(1);
+		assertThat(schemas.get(1).getSchemaReference()).isEqualTo(found);
+		assertThat(schemas).extracting(RegisteredSchema::getDefinition).containsExactly(definition, definition);
+	}
+
+	@Test
+	public void testPrewarmSubjects() {
+		AtomicInteger fetches = new AtomicInteger();
+		SchemaRegistryClient client = new DefaultSchemaRegistryClient(restTemplateBuilder) {
+			@Override
+			public String fetch(SchemaReference schemaReference) {
+				fetches.incrementAndGet();
+				return super.fetch(schemaReference);
+			}
+		};
+		Schema v1 = User.getClassSchema();
+		client.register("user", "avro", v1.toString());
+		User specificRecord = new User();
+		specificRecord.setName("joe");
+		AvroSchemaRegistryClientMessageConverter writer = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		writer.setSubjectNamingStrategy(new DefaultSubjectNamingStrategy());
+		writer.afterPropertiesSet();
+		Message<?> message = writer.toMessage(specificRecord,
+				new MutableMessageHeaders(Collections.<String, Object>emptyMap()));
+
+		AvroSchemaServiceManagerImpl manager = new AvroSchemaServiceManagerImpl();
+		AvroSchemaRegistryClientMessageConverter reader = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), manager);
+		reader.setPrewarmSubjects(Arrays.asList("user", "missing"));
+		reader.afterPropertiesSet();
+		assertThat(manager.getReaderCacheSize()).isEqualTo(1);
+
+		User converted = (User) reader.fromMessage(message, User.class);
+		assertThat(converted.getName().toString()).isEqualTo("joe");
+		assertThat(fetches.get()).isEqualTo(0);
+		assertThat(manager.getReaderCacheMisses()).isEqualTo(1);
+		assertThat(manager.getReaderCacheHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void testPrewarmedVersionsAreNotEvicted() {
+		AtomicInteger fetches = new AtomicInteger();
+		List<RegisteredSchema> versions = new ArrayList<>();
+		for (int version = 1; version <= 300; version++) {
+			String definition = "{\"type\": \"record\", \"name\": \"Counter\", \"fields\": "
+					+ "[{\"name\": \"v" + version + "\", \"type\": \"int\"}]}";
+			versions.add(new RegisteredSchema(version, new SchemaReference("counter", version, "avro"), definition));
+		}
+		SchemaRegistryClient client = new SchemaRegistryClient() {
+			@Override
+			public SchemaRegistrationResponse register(String subject, String format, String schema) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public String fetch(SchemaReference schemaReference) {
+				fetches.incrementAndGet();
+				return versions.get(schemaReference.getVersion() - 1).getDefinition();
+			}
+
+			@Override
+			public String fetch(int id) {
+				fetches.incrementAndGet();
+				return versions.get(id - 1).getDefinition();
+			}
+
+			@Override
+			public List<RegisteredSchema> fetchAll(String subject, String format) {
+				return "counter".equals(subject) ? versions : Collections.emptyList();
+			}
+		};
+		AvroSchemaRegistryClientMessageConverter converter = new AvroSchemaRegistryClientMessageConverter(
+				client, new ConcurrentMapCacheManager(), new AvroSchemaServiceManagerImpl());
+		converter.setPrewarmSubjects(Arrays.asList("counter", "missing"));
+		converter.afterPropertiesSet();
+
+		for (int version = 1; version <= 300; version++) {
+			Schema writerSchema = converter.prefetchWriterSchema(
+					MimeType.valueOf("application/vnd.counter.v" + version + "+avro")).block();
+			assertThat(writerSchema.getField("v" + version)).isNotNull();
+		}
+		assertThat(fetches.get()).isEqualTo(0);
+	}
+
 	public void testOriginalContentTypeHeaderOnly() throws Exception {
 		User specificRecord = new User();
 		specificRecord.setName("joe");
@@ -16,23 +16,38 @@
 
 package org.springframework.cloud.schema.registry.config;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.boot.autoconfigure.domain.EntityScanPackages;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.schema.registry.controllers.ServerController;
 import org.springframework.cloud.schema.registry.model.Schema;
 import org.springframework.cloud.schema.registry.repository.SchemaRepository;
+import org.springframework.cloud.schema.registry.repository.SchemaRepositoryCache;
 import org.springframework.cloud.schema.registry.support.AvroSchemaValidator;
+import org.springframework.cloud.schema.registry.support.MicrometerServerMetrics;
+import org.springframework.cloud.schema.registry.support.ParsedSchemaCache;
+import org.springframework.cloud.schema.registry.support.RepositoryMetricsInterceptor;
+import org.springframework.cloud.schema.registry.support.SchemaFingerprintBackfill;
 import org.springframework.cloud.schema.registry.support.SchemaValidator;
+import org.springframework.cloud.schema.registry.support.ServerMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.util.ClassUtils;
 
 /**
  * @author Vinicius Carvalho
@@ -44,6 +59,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @Import(ServerController.class)
 public class SchemaServerConfiguration {
 
+	private static final boolean MICROMETER_PRESENT = ClassUtils.isPresent(
+			"io.micrometer.core.instrument.MeterRegistry", SchemaServerConfiguration.class.getClassLoader());
+
 	@Bean
 	public static BeanFactoryPostProcessor entityScanPackagesPostProcessor() {
 		return beanFactory -> {
@@ -54,11 +72,86 @@ public class SchemaServerConfiguration {
 		};
 	}
 
+	/**
+	 * Time the queries of the schema repository with the {@link ServerMetrics}.
+	 * @param serverMetrics the server metrics, looked up on the first query
+	 * @return the post processor adding the timing interceptor to the repository proxy
+	 */
+	@Bean
+	public static BeanPostProcessor schemaRepositoryMetricsPostProcessor(
+			ObjectProvider<ServerMetrics> serverMetrics) {
+		// the count queries are run in the background to refresh the count gauges
+		RepositoryMetricsInterceptor interceptor = new RepositoryMetricsInterceptor(serverMetrics::getIfUnique,
+				Arrays.asList("count", "countSubjects"));
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof SchemaRepository && bean instanceof Advised && !((Advised) bean).isFrozen()) {
+					((Advised) bean).addAdvice(0, interceptor);
+				}
+				return bean;
+			}
+
+		};
+	}
+
 	@Bean
-	public Map<String, SchemaValidator> schemaValidators() {
+	public ParsedSchemaCache parsedSchemaCache(SchemaServerProperties schemaServerProperties) {
+		return new ParsedSchemaCache(schemaServerProperties.getCache().getParsedSchemaMaxSize());
+	}
+
+	@Bean
+	public Map<String, SchemaValidator> schemaValidators(ParsedSchemaCache parsedSchemaCache) {
 		Map<String, SchemaValidator> validatorMap = new HashMap<>();
-		validatorMap.put("avro", new AvroSchemaValidator());
+		// the server controller memoizes compatibility results, up to cache.compatibility-max-size
+		validatorMap.put("avro", new AvroSchemaValidator(parsedSchemaCache, 0));
 		return validatorMap;
 	}
 
+	@Bean
+	public SchemaRepositoryCache schemaRepositoryCache(SchemaRepository repository,
+			SchemaServerProperties schemaServerProperties) {
+		SchemaServerProperties.Cache cache = schemaServerProperties.getCache();
+		return new SchemaRepositoryCache(repository, cache.getMaxSize(), cache.getTimeToLive());
+	}
+
+	@Bean
+	public SchemaFingerprintBackfill schemaFingerprintBackfill(SchemaRepository repository,
+			Map<String, SchemaValidator> schemaValidators) {
+		return new SchemaFingerprintBackfill(repository, schemaValidators);
+	}
+
+	@Bean
+	public ServerMetrics schemaServerMetrics(SchemaRepository repository, SchemaRepositoryCache schemaRepositoryCache,
+			ParsedSchemaCache parsedSchemaCache, SchemaServerProperties schemaServerProperties,
+			BeanFactory beanFactory) {
+		return MICROMETER_PRESENT
+				? ServerMetricsFactory.create(beanFactory, repository, schemaRepositoryCache, parsedSchemaCache,
+						schemaServerProperties.getMetrics().getCountRefreshInterval())
+				: ServerMetrics.NONE;
+	}
+
+	/**
+	 * Isolates the references to Micrometer, which is an optional dependency.
+	 */
+	private static final class ServerMetricsFactory {
+
+		private ServerMetricsFactory() {
+		}
+
+		static ServerMetrics create(BeanFactory beanFactory, SchemaRepository repository,
+				SchemaRepositoryCache schemaRepositoryCache, ParsedSchemaCache parsedSchemaCache,
+				Duration countRefreshInterval) {
+			MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfUnique();
+			if (registry == null) {
+				return ServerMetrics.NONE;
+			}
+			MicrometerServerMetrics metrics = new MicrometerServerMetrics(registry);
+			metrics.bindGauges(repository, schemaRepositoryCache, parsedSchemaCache, countRefreshInterval);
+			return metrics;
+		}
+
+	}
+
 }
@@ -16,7 +16,12 @@
 
 package org.springframework.cloud.schema.registry.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.schema.registry.model.Compatibility;
 
 /**
  * @author Vinicius Carvalho
@@ -38,6 +43,33 @@ public class SchemaServerProperties {
 	 */
 	private boolean allowSchemaDeletion;
 
+	/**
+	 * Compatibility that a new version of a subject must have with every registered
+	 * version of that subject. Not enforced by default.
+	 */
+	private Compatibility compatibility;
+
+	/**
+	 * Compatibility required for specific subjects, overriding the compatibility setting.
+	 */
+	private Map<String, Compatibility> subjectCompatibility = new HashMap<>();
+
+	/**
+	 * Whether a new version of a subject must have the required compatibility with
+	 * every registered version of that subject, or only with the latest one.
+	 */
+	private boolean transitiveCompatibility = true;
+
+	/**
+	 * Maximum number of ids and references, together, looked up by a single batch
+	 * request. Larger requests are rejected.
+	 */
+	private int maxBatchLookupSize = 1000;
+
+	private final Cache cache = new Cache();
+
+	private final Metrics metrics = new Metrics();
+
 	public String getPath() {
 		return this.path;
 	}
@@ -54,4 +86,130 @@ public class SchemaServerProperties {
 		this.allowSchemaDeletion = allowSchemaDeletion;
 	}
 
+	public Compatibility getCompatibility() {
+		return this.compatibility;
+	}
+
+	public void setCompatibility(Compatibility compatibility) {
+		this.compatibility = compatibility;
+	}
+
+	public Map<String, Compatibility> getSubjectCompatibility() {
+		return this.subjectCompatibility;
+	}
+
+	public void setSubjectCompatibility(Map<String, Compatibility> subjectCompatibility) {
+		this.subjectCompatibility = subjectCompatibility;
+	}
+
+	public boolean isTransitiveCompatibility() {
+		return this.transitiveCompatibility;
+	}
+
+	public void setTransitiveCompatibility(boolean transitiveCompatibility) {
+		this.transitiveCompatibility = transitiveCompatibility;
+	}
+
+	public int getMaxBatchLookupSize() {
+		return this.maxBatchLookupSize;
+	}
+
+	public void setMaxBatchLookupSize(int maxBatchLookupSize) {
+		this.maxBatchLookupSize = maxBatchLookupSize;
+	}
+
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	public Metrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Settings of the in-memory caches for schema lookups and parsed schemas.
+	 */
+	public static class Cache {
+
+		/**
+		 * Maximum number of entries of each lookup cache (by id, by reference and by
+		 * subject). Set to 0 to disable caching.
+		 */
+		private int maxSize = 1000;
+
+		/**
+		 * How long a cached lookup is served before being read from the database again.
+		 * Bounds how long schemas deleted through another server instance sharing the
+		 * database can still be served.
+		 */
+		private Duration timeToLive = Duration.ofMinutes(10);
+
+		/**
+		 * Maximum number of parsed schema definitions kept for validation, matching and
+		 * compatibility checks. Set to 0 to disable caching.
+		 */
+		private int parsedSchemaMaxSize = 1000;
+
+		/**
+		 * Maximum number of compatibility results with registered versions memoized, so
+		 * that the definitions of registered versions are only read for a first check.
+		 * Set to 0 to disable caching.
+		 */
+		private int compatibilityMaxSize = 1000;
+
+		public int getMaxSize() {
+			return this.maxSize;
+		}
+
+		public void setMaxSize(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public Duration getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public int getParsedSchemaMaxSize() {
+			return this.parsedSchemaMaxSize;
+		}
+
+		public void setParsedSchemaMaxSize(int parsedSchemaMaxSize) {
+			this.parsedSchemaMaxSize = parsedSchemaMaxSize;
+		}
+
+		public int getCompatibilityMaxSize() {
+			return this.compatibilityMaxSize;
+		}
+
+		public void setCompatibilityMaxSize(int compatibilityMaxSize) {
+			this.compatibilityMaxSize = compatibilityMaxSize;
+		}
+
+	}
+
+	/**
+	 * Settings of the server metrics, published when Micrometer is available.
+	 */
+	public static class Metrics {
+
+		/**
+		 * How often the numbers of registered subjects and versions published as gauges
+		 * are counted in the database.
+		 */
+		private Duration countRefreshInterval = Duration.ofMinutes(1);
+
+		public Duration getCountRefreshInterval() {
+			return this.countRefreshInterval;
+		}
+
+		public void setCountRefreshInterval(Duration countRefreshInterval) {
+			this.countRefreshInterval = countRefreshInterval;
+		}
+
+	}
+
 }
@@ -16,33 +16,66 @@
 
 package org.springframework.cloud.schema.registry.controllers;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.schema.registry.config.SchemaServerProperties;
+import org.springframework.cloud.schema.registry.model.Compatibility;
 import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.model.SchemaBatchRequest;
+import org.springframework.cloud.schema.registry.model.SchemaRegistrationResult;
 import org.springframework.cloud.schema.registry.repository.SchemaRepository;
+import org.springframework.cloud.schema.registry.repository.SchemaRepositoryCache;
+import org.springframework.cloud.schema.registry.repository.SchemaSummary;
+import org.springframework.cloud.schema.registry.support.BatchTooLargeException;
+import org.springframework.cloud.schema.registry.support.ExpiringLruCache;
+import org.springframework.cloud.schema.registry.support.IncompatibleSchemaException;
 import org.springframework.cloud.schema.registry.support.InvalidSchemaException;
 import org.springframework.cloud.schema.registry.support.SchemaDeletionNotAllowedException;
+import org.springframework.cloud.schema.registry.support.SchemaFingerprints;
 import org.springframework.cloud.schema.registry.support.SchemaNotFoundException;
 import org.springframework.cloud.schema.registry.support.SchemaValidator;
+import org.springframework.cloud.schema.registry.support.ServerMetrics;
+import org.springframework.cloud.schema.registry.support.ServerMetrics.RegistrationPhase;
 import org.springframework.cloud.schema.registry.support.UnsupportedFormatException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -57,79 +90,234 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @RequestMapping(path = "${spring.cloud.schema.server.path:}")
 public class ServerController {
 
+	/**
+	 * Number of locks that registrations are striped across. Registrations for the same
+	 * subject and format always use the same lock; all others may proceed in parallel.
+	 */
+	private static final int REGISTRATION_LOCK_STRIPES = 64;
+
+	/**
+	 * Number of times a registration is retried after losing the race for a version to
+	 * another node sharing the same database.
+	 */
+	private static final int MAX_REGISTRATION_ATTEMPTS = 3;
+
+	/**
+	 * Unique constraint on subject, format and version, whose violation means that
+	 * another node registered the same version concurrently.
+	 */
+	private static final String VERSION_CONSTRAINT = "UK_SCHEMA_SUBJECT_FORMAT_VERSION";
+
+	/**
+	 * Cache-Control directive for schemas that can not be deleted, and thus never change.
+	 */
+	private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+	/**
+	 * Cache-Control directive for schemas that may be deleted, which caches must
+	 * revalidate before reuse.
+	 */
+	private static final String REVALIDATE_CACHE_CONTROL = "no-cache";
+
+	/**
+	 * Largest page size served by the listing endpoints.
+	 */
+	private static final int MAX_PAGE_SIZE = 1000;
+
+	private final Lock[] registrationLocks = new Lock[REGISTRATION_LOCK_STRIPES];
+
 	private final SchemaRepository repository;
 
+	private final SchemaRepositoryCache cache;
+
 	private final Map<String, SchemaValidator> validators;
 
 	private final SchemaServerProperties schemaServerProperties;
 
+	/**
+	 * Compatibility results of new definitions with registered versions, by digest of
+	 * the new definition and id of the registered version, whose definition never
+	 * changes. Fingerprints can not key them, as they leave out the default values that
+	 * compatibility depends on.
+	 */
+	private final ExpiringLruCache<String, Compatibility> compatibilities;
+
+	private ServerMetrics metrics = ServerMetrics.NONE;
+
 	public ServerController(SchemaRepository repository, Map<String, SchemaValidator> validators,
 			SchemaServerProperties schemaServerProperties) {
+		this(repository, new SchemaRepositoryCache(repository, schemaServerProperties.getCache().getMaxSize(),
+				schemaServerProperties.getCache().getTimeToLive()), validators, schemaServerProperties);
+	}
+
+	@Autowired
+	public ServerController(SchemaRepository repository, SchemaRepositoryCache cache,
+			Map<String, SchemaValidator> validators, SchemaServerProperties schemaServerProperties) {
 		Assert.notNull(repository, "cannot be null");
+		Assert.notNull(cache, "cannot be null");
 		Assert.notEmpty(validators, "cannot be empty");
 		this.repository = repository;
+		this.cache = cache;
 		this.validators = validators;
 		this.schemaServerProperties = schemaServerProperties;
+		this.compatibilities = new ExpiringLruCache<>(schemaServerProperties.getCache().getCompatibilityMaxSize());
+		for (int i = 0; i < this.registrationLocks.length; i++) {
+			this.registrationLocks[i] = new ReentrantLock();
+		}
 	}
 
-	@RequestMapping(method = RequestMethod.POST, path = "/", consumes = "application/json", produces = "application/json")
-	public synchronized ResponseEntity<Schema> register(@RequestBody Schema schema, UriComponentsBuilder builder) {
+	/**
+	 * Set the {@link ServerMetrics} recording the duration of the requests and of the
+	 * phases of registrations.
+	 * @param metrics the server metrics
+	 */
+	@Autowired(required = false)
+	public void setServerMetrics(ServerMetrics metrics) {
+		Assert.notNull(metrics, "'metrics' cannot be null");
+		this.metrics = metrics;
+	}
 
-		SchemaValidator validator = this.validators.get(schema.getFormat());
+	@RequestMapping(method = RequestMethod.POST, path = "/", consumes = "application/json", produces = "application/json")
+	public ResponseEntity<Schema> register(@RequestBody Schema schema, UriComponentsBuilder builder) {
+		return timed("register", () -> {
 
-		if (validator == null) {
-			throw new UnsupportedFormatException(String.format("Invalid format, supported types are: %s",
-					StringUtils.collectionToCommaDelimitedString(this.validators.keySet())));
-		}
+			SchemaValidator validator = this.validators.get(schema.getFormat());
 
-		validator.validate(schema.getDefinition());
+			if (validator == null) {
+				throw new UnsupportedFormatException(String.format("Invalid format, supported types are: %s",
+						StringUtils.collectionToCommaDelimitedString(this.validators.keySet())));
+			}
 
-		Schema result;
-		List<Schema> registeredEntities =
-				this.repository.findBySubjectAndFormatOrderByVersion(schema.getSubject(), schema.getFormat());
-		if (registeredEntities.isEmpty()) {
-			schema.setVersion(1);
-			result = this.repository.save(schema);
-		}
-		else {
-			result = validator.match(registeredEntities, schema.getDefinition());
-			if (result == null) {
-				schema.setVersion(registeredEntities.get(registeredEntities.size() - 1).getVersion() + 1);
-				result = this.repository.save(schema);
+			long start = System.nanoTime();
+			validator.validate(schema.getDefinition());
+			schema.setFingerprint(validator.fingerprint(schema.getDefinition()));
+			start = phase(RegistrationPhase.VALIDATE, start);
+
+			Schema result;
+			Lock lock = registrationLock(schema.getSubject(), schema.getFormat());
+			lock.lock();
+			try {
+				phase(RegistrationPhase.LOCK, start);
+				result = registerWithRetry(validator, schema);
+			}
+			finally {
+				lock.unlock();
 			}
+			this.cache.evict(result);
 
-		}
+			HttpHeaders headers = new HttpHeaders();
+			headers.add(HttpHeaders.LOCATION, builder.path("/{subject}/{format}/v{version}")
+					.buildAndExpand(result.getSubject(), result.getFormat(), result.getVersion())
+					.toString());
+			ResponseEntity<Schema> response = new ResponseEntity<>(result, headers, HttpStatus.CREATED);
 
-		HttpHeaders headers = new HttpHeaders();
-		headers.add(HttpHeaders.LOCATION, builder.path("/{subject}/{format}/v{version}")
-				.buildAndExpand(result.getSubject(), result.getFormat(), result.getVersion())
-				.toString());
-		ResponseEntity<Schema> response = new ResponseEntity<>(result, headers, HttpStatus.CREATED);
+			return response;
+		});
+	}
 
-		return response;
+	/**
+	 * Register several schemas at once. The schemas are validated in parallel, then
+	 * registered in order, as if registered one after the other, and all new versions are
+	 * inserted in a single transaction. A schema that fails to register does not prevent
+	 * the others from being registered.
+	 *
+	 * @param schemas the schemas to register
+	 * @return An {@link HttpStatus#OK} response populated with the
+	 * {@link SchemaRegistrationResult result} of each registration, in request order.
+	 */
+	@PostMapping(path = "/batch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<SchemaRegistrationResult>> registerAll(@RequestBody List<Schema> schemas) {
+		return timed("registerAll", () -> {
+			List<BatchItem> items = schemas.parallelStream()
+					.map(this::validateBatchItem)
+					.collect(Collectors.toList());
+
+			List<Lock> locks = registrationLocks(items);
+			locks.forEach(Lock::lock);
+			try {
+				registerAllWithRetry(items);
+			}
+			finally {
+				for (int i = locks.size() - 1; i >= 0; i--) {
+					locks.get(i).unlock();
+				}
+			}
 
+			List<SchemaRegistrationResult> results = new ArrayList<>();
+			for (BatchItem item : items) {
+				if (item.isRegistered()) {
+					this.cache.evict(item.result);
+				}
+				results.add(item.toResult());
+			}
+			return new ResponseEntity<>(results, HttpStatus.OK);
+		});
 	}
 
 	@RequestMapping(method = RequestMethod.GET, produces = "application/json", path = "/{subject}/{format}/v{version}")
 	public ResponseEntity<Schema> findOne(@PathVariable("subject") String subject,
 			@PathVariable("format") String format,
 			@PathVariable("version") Integer version) {
-		Schema schema = this.repository.findOneBySubjectAndFormatAndVersion(subject, format, version);
-		if (schema == null) {
-			throw new SchemaNotFoundException(
-					String.format("Could not find Schema by subject: %s, format: %s, version %s",
-							subject, format, version));
-		}
-		return new ResponseEntity<>(schema, HttpStatus.OK);
+		return timed("findOne", () -> {
+			Schema schema = this.cache.findOneBySubjectAndFormatAndVersion(subject, format, version);
+			if (schema == null) {
+				throw new SchemaNotFoundException(
+						String.format("Could not find Schema by subject: %s, format: %s, version %s",
+								subject, format, version));
+			}
+			return new ResponseEntity<>(schema, cacheHeaders(schema), HttpStatus.OK);
+		});
 	}
 
 	@RequestMapping(method = RequestMethod.GET, produces = "application/json", path = "/schemas/{id}")
 	public ResponseEntity<Schema> findOne(@PathVariable("id") Integer id) {
-		Optional<Schema> schema = this.repository.findById(id);
-		if (!schema.isPresent()) {
-			throw new SchemaNotFoundException(String.format("Could not find Schema by id: %s", id));
-		}
-		return new ResponseEntity<>(schema.get(), HttpStatus.OK);
+		return timed("findOneById", () -> {
+			Schema schema = this.cache.findById(id);
+			if (schema == null) {
+				throw new SchemaNotFoundException(String.format("Could not find Schema by id: %s", id));
+			}
+			return new ResponseEntity<>(schema, cacheHeaders(schema), HttpStatus.OK);
+		});
+	}
+
+	/**
+	 * Find several schemas at once, by {@link Schema#getId() id} and by
+	 * {@link Schema#getSubject() subject}, {@link Schema#getFormat() format} and
+	 * {@link Schema#getVersion() version}.
+	 *
+	 * @param request the ids and references of the schemas to find
+	 * @return An {@link HttpStatus#OK} response populated with the list of matching
+	 * {@link Schema Schemas}, each listed once. Ids and references that do not match any
+	 * schema are left out.
+	 * @throws BatchTooLargeException if the request holds more ids and references than
+	 * the configured maximum batch lookup size
+	 */
+	@PostMapping(path = "/schemas/batch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<Schema>> findAll(@RequestBody SchemaBatchRequest request) {
+		return timed("findAll", () -> {
+			int size = CollectionUtils.isEmpty(request.getIds()) ? 0 : request.getIds().size();
+			size += CollectionUtils.isEmpty(request.getReferences()) ? 0 : request.getReferences().size();
+			if (size > this.schemaServerProperties.getMaxBatchLookupSize()) {
+				throw new BatchTooLargeException("A batch lookup holds at most "
+						+ this.schemaServerProperties.getMaxBatchLookupSize() + " ids and references, got " + size);
+			}
+			Map<Integer, Schema> schemas = new LinkedHashMap<>();
+			if (!CollectionUtils.isEmpty(request.getIds())) {
+				for (Schema schema : this.cache.findAllById(request.getIds())) {
+					schemas.put(schema.getId(), schema);
+				}
+			}
+			if (!CollectionUtils.isEmpty(request.getReferences())) {
+				for (Schema reference : request.getReferences()) {
+					Schema schema = this.cache.findOneBySubjectAndFormatAndVersion(reference.getSubject(),
+							reference.getFormat(), reference.getVersion());
+					if (schema != null) {
+						schemas.putIfAbsent(schema.getId(), schema);
+					}
+				}
+			}
+			return new ResponseEntity<>(new ArrayList<>(schemas.values()), HttpStatus.OK);
+		});
 	}
 
 	/**
@@ -170,62 +358,139 @@ public class ServerController {
 	@NonNull
 	public ResponseEntity<List<Schema>> findBySubjectAndFormat(@NonNull @PathVariable("subject") final String subject,
 			@NonNull @PathVariable("format") final String format) {
-		return findBySubjectAndFormatOrderByVersionAsc(subject, format);
+		return timed("findBySubjectAndFormat", () -> findBySubjectAndFormatOrderByVersionAsc(subject, format));
+	}
+
+	/**
+	 * Find the latest {@link Schema#getVersion() version} of a {@link Schema#getSubject()
+	 * subject} and {@link Schema#getFormat() format}.
+	 *
+	 * @param subject the {@link Schema#getSubject() subject}
+	 * @param format the {@link Schema#getFormat() format}
+	 * @return An {@link HttpStatus#OK} response populated with the registered
+	 * {@link Schema} of highest version.
+	 */
+	@GetMapping(produces = APPLICATION_JSON_VALUE, path = "/{subject}/{format}/latest")
+	public ResponseEntity<Schema> findLatest(@PathVariable("subject") String subject,
+			@PathVariable("format") String format) {
+		return timed("findLatest", () -> {
+			Schema schema = this.repository.findTopBySubjectAndFormatOrderByVersionDesc(subject, format);
+			if (schema == null) {
+				throw new SchemaNotFoundException(
+						String.format("No schemas found for subject %s and format %s", subject, format));
+			}
+			HttpHeaders headers = cacheHeaders(schema);
+			headers.setCacheControl(REVALIDATE_CACHE_CONTROL);
+			return new ResponseEntity<>(schema, headers, HttpStatus.OK);
+		});
+	}
+
+	/**
+	 * Find a page of the versions of a {@link Schema#getSubject() subject} and
+	 * {@link Schema#getFormat() format}. A {@code Link} header with relation
+	 * {@code next} is set when there are more versions.
+	 *
+	 * @param subject the {@link Schema#getSubject() subject}
+	 * @param format the {@link Schema#getFormat() format}
+	 * @param page the zero based page number
+	 * @param size the page size, at most 1000
+	 * @return An {@link HttpStatus#OK} response populated with the page of {@link Schema
+	 * Schemas}, in ascending order by {@link Schema#getVersion() version}.
+	 */
+	@GetMapping(produces = APPLICATION_JSON_VALUE, path = "/{subject}/{format}/versions")
+	public ResponseEntity<List<Schema>> findVersions(@PathVariable("subject") String subject,
+			@PathVariable("format") String format, @RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "100") int size) {
+		return timed("findVersions", () -> {
+			Pageable pageable = pageRequest(page, size);
+			return pageResponse(this.repository.findBySubjectAndFormatOrderByVersion(subject, format, pageable));
+		});
+	}
+
+	/**
+	 * Find a page of the registered {@link Schema#getSubject() subjects}. A {@code Link}
+	 * header with relation {@code next} is set when there are more subjects.
+	 *
+	 * @param page the zero based page number
+	 * @param size the page size, at most 1000
+	 * @return An {@link HttpStatus#OK} response populated with the page of subjects, in
+	 * ascending order.
+	 */
+	@GetMapping(produces = APPLICATION_JSON_VALUE, path = "/subjects")
+	public ResponseEntity<List<String>> findSubjects(@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "100") int size) {
+		return timed("findSubjects", () -> pageResponse(this.repository.findSubjects(pageRequest(page, size))));
 	}
 
 	@RequestMapping(value = "/{subject}/{format}/v{version}", method = RequestMethod.DELETE)
 	public void delete(@PathVariable("subject") String subject,
 			@PathVariable("format") String format,
 			@PathVariable("version") Integer version) {
-		if (this.schemaServerProperties.isAllowSchemaDeletion()) {
-			Schema schema = this.repository.findOneBySubjectAndFormatAndVersion(subject, format, version);
-			if (schema == null) {
-				throw new SchemaNotFoundException(
-						String.format("Could not find Schema by subject: %s, format: %s, version %s",
-								subject, format, version));
+		timed("delete", () -> {
+			if (this.schemaServerProperties.isAllowSchemaDeletion()) {
+				Schema schema = this.repository.findOneBySubjectAndFormatAndVersion(subject, format, version);
+				if (schema == null) {
+					throw new SchemaNotFoundException(
+							String.format("Could not find Schema by subject: %s, format: %s, version %s",
+									subject, format, version));
+				}
+				deleteSchema(schema);
 			}
-			deleteSchema(schema);
-		}
-		else {
-			throw new SchemaDeletionNotAllowedException(String.format("Not permitted deletion of Schema by " +
-					"subject: %s, format: %s, version %s", subject, format, version));
-		}
+			else {
+				throw new SchemaDeletionNotAllowedException(String.format("Not permitted deletion of Schema by " +
+						"subject: %s, format: %s, version %s", subject, format, version));
+			}
+			return null;
+		});
 	}
 
 	@RequestMapping(value = "/schemas/{id}", method = RequestMethod.DELETE)
 	public void delete(@PathVariable("id") Integer id) {
-		if (this.schemaServerProperties.isAllowSchemaDeletion()) {
-			Optional<Schema> schema = this.repository.findById(id);
-			if (!schema.isPresent()) {
-				throw new SchemaNotFoundException(String.format("Could not find Schema by id: %s", id));
+		timed("deleteById", () -> {
+			if (this.schemaServerProperties.isAllowSchemaDeletion()) {
+				Optional<Schema> schema = this.repository.findById(id);
+				if (!schema.isPresent()) {
+					throw new SchemaNotFoundException(String.format("Could not find Schema by id: %s", id));
+				}
+				deleteSchema(schema.get());
 			}
-			deleteSchema(schema.get());
-		}
-		else {
-			throw new SchemaDeletionNotAllowedException(String.format("Not permitted deletion of Schema by id: %s", id));
-		}
+			else {
+				throw new SchemaDeletionNotAllowedException(
+						String.format("Not permitted deletion of Schema by id: %s", id));
+			}
+			return null;
+		});
 	}
 
 	@RequestMapping(value = "/{subject}", method = RequestMethod.DELETE)
 	public void delete(@PathVariable("subject") String subject) {
-		if (this.schemaServerProperties.isAllowSchemaDeletion()) {
-			for (Schema schema : this.repository.findAll()) {
-				if (schema.getSubject().equals(subject)) {
-					deleteSchema(schema);
+		timed("deleteSubject", () -> {
+			if (this.schemaServerProperties.isAllowSchemaDeletion()) {
+				List<Lock> locks = registrationLocks(subject, this.repository.findSummariesBySubject(subject));
+				List<SchemaSummary> schemas;
+				locks.forEach(Lock::lock);
+				try {
+					schemas = this.repository.deleteSummariesBySubject(subject);
 				}
+				finally {
+					for (int i = locks.size() - 1; i >= 0; i--) {
+						locks.get(i).unlock();
+					}
+				}
+				schemas.forEach(this.cache::evict);
 			}
-		}
-		else {
-			throw new SchemaDeletionNotAllowedException(String.format("Not permitted deletion of Schema by " +
-					"subject: %s", subject));
-		}
-
+			else {
+				throw new SchemaDeletionNotAllowedException(String.format("Not permitted deletion of Schema by " +
+						"subject: %s", subject));
+			}
+			return null;
+		});
 	}
 
 	@NonNull
 	public final ResponseEntity<List<Schema>> findBySubjectAndFormatOrderByVersionAsc(@NonNull final String subject,
 			@NonNull final String format) {
-		List<Schema> schemas = this.repository.findBySubjectAndFormatOrderByVersion(subject, format);
+		List<Schema> schemas = this.cache.findBySubjectAndFormatOrderByVersion(subject, format);
 		if (schemas.isEmpty()) {
 			throw new SchemaNotFoundException(
 					String.format("No schemas found for subject %s and format %s", subject, format));
@@ -233,11 +498,352 @@ public class ServerController {
 		return new ResponseEntity<>(schemas, HttpStatus.OK);
 	}
 
+	/**
+	 * Run the handling of a request, recording its duration and outcome.
+	 */
+	private <T> T timed(String operation, Supplier<T> handler) {
+		long start = System.nanoTime();
+		Throwable failure = null;
+		try {
+			return handler.get();
+		}
+		catch (RuntimeException | Error ex) {
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			this.metrics.request(operation, System.nanoTime() - start, failure);
+		}
+	}
+
+	/**
+	 * Record a registration phase started at the given time.
+	 * @return the end time of the phase, which the next phase starts at
+	 */
+	private long phase(RegistrationPhase phase, long start) {
+		long end = System.nanoTime();
+		this.metrics.registrationPhase(phase, end - start);
+		return end;
+	}
+
+	private static Pageable pageRequest(int page, int size) {
+		return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+	}
+
+	private static <T> ResponseEntity<List<T>> pageResponse(Slice<T> slice) {
+		HttpHeaders headers = new HttpHeaders();
+		if (slice.hasNext()) {
+			String next = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("page", slice.getNumber() + 1)
+					.replaceQueryParam("size", slice.getSize())
+					.toUriString();
+			headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+		return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+	}
+
+	/**
+	 * Headers letting clients and proxies cache a schema fetched by id or version. The
+	 * strong ETag combines the never reused id with the definition fingerprint, so a
+	 * version deleted and registered again gets a new one. Conditional requests matching
+	 * it are answered with {@link HttpStatus#NOT_MODIFIED} by the response processing.
+	 */
+	private HttpHeaders cacheHeaders(Schema schema) {
+		HttpHeaders headers = new HttpHeaders();
+		if (schema.getFingerprint() != null) {
+			headers.setETag("\"" + schema.getId() + "-" + schema.getFingerprint() + "\"");
+		}
+		headers.setCacheControl(this.schemaServerProperties.isAllowSchemaDeletion()
+				? REVALIDATE_CACHE_CONTROL : IMMUTABLE_CACHE_CONTROL);
+		return headers;
+	}
+
+	private Lock registrationLock(String subject, String format) {
+		return this.registrationLocks[registrationLockStripe(subject, format)];
+	}
+
+	private static int registrationLockStripe(String subject, String format) {
+		int hash = 31 * String.valueOf(subject).hashCode() + String.valueOf(format).hashCode();
+		return (hash ^ (hash >>> 16)) & (REGISTRATION_LOCK_STRIPES - 1);
+	}
+
+	/**
+	 * Register the schema, or return the matching registered one. The unique constraint on
+	 * subject, format and version guards against another node assigning the same version
+	 * concurrently, in which case the registration is attempted again against the now
+	 * updated version history.
+	 */
+	private Schema registerWithRetry(SchemaValidator validator, Schema schema) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				return doRegister(validator, schema);
+			}
+			catch (DataIntegrityViolationException ex) {
+				if (attempt >= MAX_REGISTRATION_ATTEMPTS || !isVersionConflict(ex)) {
+					throw ex;
+				}
+				schema.setId(null);
+			}
+		}
+	}
+
+	/**
+	 * Whether the exception reports a violation of the {@link #VERSION_CONSTRAINT}, as
+	 * opposed to a schema the database rejects whatever its version.
+	 */
+	private static boolean isVersionConflict(DataIntegrityViolationException ex) {
+		for (Throwable cause = ex; cause != null; cause = (cause.getCause() != cause) ? cause.getCause() : null) {
+			String message = cause.getMessage();
+			if (message != null && message.toUpperCase(Locale.ROOT).contains(VERSION_CONSTRAINT)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Register the schema unless a matching version exists.
+	 */
+	private Schema doRegister(SchemaValidator validator, Schema schema) {
+		long start = System.nanoTime();
+		Integer latestVersion = this.repository.findLatestVersion(schema.getSubject(), schema.getFormat());
+		if (latestVersion == null) {
+			start = phase(RegistrationPhase.MATCH, start);
+			schema.setVersion(1);
+			Schema result = this.repository.save(schema);
+			phase(RegistrationPhase.SAVE, start);
+			return result;
+		}
+		Schema result = findRegisteredMatch(validator, schema);
+		start = phase(RegistrationPhase.MATCH, start);
+		if (result == null) {
+			checkCompatibility(validator, schema, Collections.emptyList());
+			start = phase(RegistrationPhase.COMPATIBILITY, start);
+			schema.setVersion(latestVersion + 1);
+			result = this.repository.save(schema);
+			phase(RegistrationPhase.SAVE, start);
+		}
+		return result;
+	}
+
+	/**
+	 * Find the registered version matching the schema. Only the definitions of the
+	 * versions sharing the schema fingerprint are read, to confirm the match.
+	 */
+	private Schema findRegisteredMatch(SchemaValidator validator, Schema schema) {
+		List<Integer> candidateIds = new ArrayList<>();
+		for (SchemaSummary candidate : this.repository.findMatchCandidates(schema.getSubject(),
+				schema.getFormat(), schema.getFingerprint())) {
+			candidateIds.add(candidate.getId());
+		}
+		if (candidateIds.isEmpty()) {
+			return null;
+		}
+		List<Schema> candidates = new ArrayList<>();
+		this.repository.findAllById(candidateIds).forEach(candidates::add);
+		candidates.sort(Comparator.comparing(Schema::getVersion));
+		return validator.match(candidates, schema.getDefinition());
+	}
+
+	/**
+	 * Check that the new version of a subject has the compatibility configured for the
+	 * subject with every registered version, and with the versions about to be
+	 * registered before it, or only with the latest of them when compatibility is not
+	 * transitive. Formats whose validator does not support compatibility checks are not
+	 * checked. The definition of a registered version is only read when its
+	 * compatibility with the new definition is not memoized.
+	 */
+	private void checkCompatibility(SchemaValidator validator, Schema schema, List<Schema> pending) {
+		Compatibility required = this.schemaServerProperties.getSubjectCompatibility()
+				.getOrDefault(schema.getSubject(), this.schemaServerProperties.getCompatibility());
+		if (required == null || required == Compatibility.INCOMPATIBLE) {
+			return;
+		}
+		boolean transitive = this.schemaServerProperties.isTransitiveCompatibility();
+		if (!transitive && !pending.isEmpty()) {
+			Schema latest = pending.get(pending.size() - 1);
+			checkCompatibility(schema, latest.getVersion(),
+					validator.compatibilityCheck(schema.getDefinition(), latest.getDefinition()), required);
+			return;
+		}
+		List<SchemaSummary> versions = this.repository.findSummariesBySubjectAndFormat(schema.getSubject(),
+				schema.getFormat());
+		if (!transitive && !versions.isEmpty()) {
+			versions = versions.subList(versions.size() - 1, versions.size());
+		}
+		String digest = SchemaFingerprints.sha256(schema.getDefinition().getBytes(StandardCharsets.UTF_8));
+		for (SchemaSummary registered : versions) {
+			Compatibility compatibility = this.compatibilities.get(digest + ':' + registered.getId(), key -> {
+				Schema definition = this.cache.findById(registered.getId());
+				// a version deleted since it was listed has nothing left to be compatible with
+				return (definition != null)
+						? validator.compatibilityCheck(schema.getDefinition(), definition.getDefinition())
+						: Compatibility.FULL;
+			});
+			if (!checkCompatibility(schema, registered.getVersion(), compatibility, required)) {
+				return;
+			}
+		}
+		for (Schema registered : pending) {
+			if (!checkCompatibility(schema, registered.getVersion(),
+					validator.compatibilityCheck(schema.getDefinition(), registered.getDefinition()), required)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Check a compatibility result of the new version of a subject.
+	 * @return false if the validator does not support compatibility checks
+	 */
+	private boolean checkCompatibility(Schema schema, Integer version, Compatibility compatibility,
+			Compatibility required) {
+		if (compatibility == null) {
+			return false;
+		}
+		if (!compatibility.satisfies(required)) {
+			throw new IncompatibleSchemaException(String.format(
+					"Compatibility with version %s of subject %s is %s, but %s is required", version,
+					schema.getSubject(), compatibility, required));
+		}
+		return true;
+	}
+
+	private BatchItem validateBatchItem(Schema schema) {
+		BatchItem item = new BatchItem(schema);
+		item.validator = this.validators.get(schema.getFormat());
+		if (item.validator == null) {
+			item.reject(HttpStatus.BAD_REQUEST, errorMessage("Format not supported", new UnsupportedFormatException(
+					String.format("Invalid format, supported types are: %s",
+							StringUtils.collectionToCommaDelimitedString(this.validators.keySet())))));
+			return item;
+		}
+		try {
+			item.validator.validate(schema.getDefinition());
+			schema.setFingerprint(item.validator.fingerprint(schema.getDefinition()));
+		}
+		catch (UnsupportedFormatException ex) {
+			item.reject(HttpStatus.BAD_REQUEST, onUnsupportedFormat(ex));
+		}
+		catch (InvalidSchemaException ex) {
+			item.reject(HttpStatus.BAD_REQUEST, onInvalidSchema(ex));
+		}
+		catch (RuntimeException ex) {
+			item.reject(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage("Validation failed", ex));
+		}
+		return item;
+	}
+
+	/**
+	 * Return the registration locks of the valid items, in a consistent order so that
+	 * concurrent batches can not deadlock.
+	 */
+	private List<Lock> registrationLocks(List<BatchItem> items) {
+		SortedSet<Integer> stripes = new TreeSet<>();
+		for (BatchItem item : items) {
+			if (item.status == null) {
+				stripes.add(registrationLockStripe(item.schema.getSubject(), item.schema.getFormat()));
+			}
+		}
+		return registrationLocks(stripes);
+	}
+
+	/**
+	 * Return the registration locks of every format of the subject, in the same order as
+	 * {@link #registrationLocks(List)}, so that deleting the subject does not interleave
+	 * with the registration of one of its versions.
+	 */
+	private List<Lock> registrationLocks(String subject, List<SchemaSummary> schemas) {
+		SortedSet<Integer> stripes = new TreeSet<>();
+		for (SchemaSummary schema : schemas) {
+			stripes.add(registrationLockStripe(subject, schema.getFormat()));
+		}
+		return registrationLocks(stripes);
+	}
+
+	private List<Lock> registrationLocks(SortedSet<Integer> stripes) {
+		List<Lock> locks = new ArrayList<>();
+		for (Integer stripe : stripes) {
+			locks.add(this.registrationLocks[stripe]);
+		}
+		return locks;
+	}
+
+	private void registerAllWithRetry(List<BatchItem> items) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				doRegisterAll(items);
+				return;
+			}
+			catch (DataIntegrityViolationException ex) {
+				if (attempt >= MAX_REGISTRATION_ATTEMPTS || !isVersionConflict(ex)) {
+					throw ex;
+				}
+				for (BatchItem item : items) {
+					item.reset();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolve each valid item to a registered version, a version registered by an
+	 * earlier item, or a new version, then insert all new versions at once.
+	 */
+	private void doRegisterAll(List<BatchItem> items) {
+		Map<String, Integer> latestVersions = new HashMap<>();
+		Map<String, List<Schema>> pendingVersions = new HashMap<>();
+		List<Schema> newVersions = new ArrayList<>();
+		for (BatchItem item : items) {
+			if (item.status != null) {
+				continue;
+			}
+			Schema schema = item.schema;
+			String key = schema.getSubject() + '/' + schema.getFormat();
+			if (!latestVersions.containsKey(key)) {
+				latestVersions.put(key,
+						this.repository.findLatestVersion(schema.getSubject(), schema.getFormat()));
+			}
+			Integer latestVersion = latestVersions.get(key);
+			List<Schema> pending = pendingVersions.computeIfAbsent(key, k -> new ArrayList<>());
+			Schema result = latestVersion != null ? findRegisteredMatch(item.validator, schema) : null;
+			if (result == null && !pending.isEmpty()) {
+				List<Schema> candidates = new ArrayList<>();
+				for (Schema candidate : pending) {
+					if (candidate.getFingerprint().equals(schema.getFingerprint())) {
+						candidates.add(candidate);
+					}
+				}
+				result = candidates.isEmpty() ? null : item.validator.match(candidates, schema.getDefinition());
+			}
+			if (result == null) {
+				if (latestVersion != null || !pending.isEmpty()) {
+					try {
+						checkCompatibility(item.validator, schema, pending);
+					}
+					catch (IncompatibleSchemaException ex) {
+						item.fail(HttpStatus.CONFLICT, errorMessage("Incompatible Schema", ex));
+						continue;
+					}
+				}
+				int previousVersion = pending.isEmpty() ? (latestVersion != null ? latestVersion : 0)
+						: pending.get(pending.size() - 1).getVersion();
+				schema.setVersion(previousVersion + 1);
+				pending.add(schema);
+				newVersions.add(schema);
+				result = schema;
+			}
+			item.result = result;
+		}
+		this.repository.saveAll(newVersions);
+	}
+
 	private void deleteSchema(Schema schema) {
 		if (schema == null) {
 			throw new SchemaNotFoundException("Could not find Schema");
 		}
 		this.repository.delete(schema);
+		this.cache.evict(schema);
 	}
 
 	@ExceptionHandler(UnsupportedFormatException.class)
@@ -254,6 +860,20 @@ public class ServerController {
 		return errorMessage("Invalid Schema", e);
 	}
 
+	@ExceptionHandler(BatchTooLargeException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	@ResponseBody
+	public String onBatchTooLarge(BatchTooLargeException e) {
+		return errorMessage("Batch too large", e);
+	}
+
+	@ExceptionHandler(IncompatibleSchemaException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	@ResponseBody
+	public String onIncompatibleSchema(IncompatibleSchemaException e) {
+		return errorMessage("Incompatible Schema", e);
+	}
+
 	@ExceptionHandler(SchemaNotFoundException.class)
 	@ResponseStatus(HttpStatus.NOT_FOUND)
 	@ResponseBody
@@ -271,4 +891,63 @@ public class ServerController {
 	private String errorMessage(String prefix, Throwable e) {
 		return prefix + (StringUtils.hasText(e.getMessage()) ? ": " + e.getMessage() : "");
 	}
+
+	/**
+	 * A schema of a batch registration, along with its outcome.
+	 */
+	private static final class BatchItem {
+
+		private final Schema schema;
+
+		private SchemaValidator validator;
+
+		private Schema result;
+
+		private HttpStatus status;
+
+		private String error;
+
+		/**
+		 * Whether the schema failed validation, and is not to be registered.
+		 */
+		private boolean rejected;
+
+		private BatchItem(Schema schema) {
+			this.schema = schema;
+		}
+
+		private void fail(HttpStatus status, String error) {
+			this.status = status;
+			this.error = error;
+		}
+
+		private void reject(HttpStatus status, String error) {
+			fail(status, error);
+			this.rejected = true;
+		}
+
+		private boolean isRegistered() {
+			return this.result != null;
+		}
+
+		/**
+		 * Forget the outcome of a registration attempt that was rolled back, keeping
+		 * validation failures.
+		 */
+		private void reset() {
+			if (!this.rejected) {
+				this.status = null;
+				this.error = null;
+			}
+			this.result = null;
+			this.schema.setId(null);
+		}
+
+		private SchemaRegistrationResult toResult() {
+			return isRegistered() ? new SchemaRegistrationResult(this.result, HttpStatus.CREATED.value(), null)
+					: new SchemaRegistrationResult(this.schema, this.status.value(), this.error);
+		}
+
+	}
+
 }
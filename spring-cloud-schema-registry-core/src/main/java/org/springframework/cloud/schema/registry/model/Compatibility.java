@@ -41,4 +41,14 @@ public enum Compatibility {
 	 */
 	INCOMPATIBLE;
 
+	/**
+	 * Whether this compatibility meets the required one. {@link #FULL} meets every
+	 * requirement, and every compatibility meets an {@link #INCOMPATIBLE} requirement.
+	 * @param required the required compatibility
+	 * @return true if this compatibility meets the requirement
+	 */
+	public boolean satisfies(Compatibility required) {
+		return this == required || this == FULL || required == INCOMPATIBLE;
+	}
+
 }
@@ -20,8 +20,12 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * @author Vinicius Carvalho
@@ -29,7 +33,9 @@ import javax.persistence.Table;
  * Represents a persisted schema entity.
  */
 @Entity
-@Table(name = "SCHEMA_REPOSITORY")
+@Table(name = "SCHEMA_REPOSITORY", uniqueConstraints = @UniqueConstraint(name = "UK_SCHEMA_SUBJECT_FORMAT_VERSION",
+		columnNames = { "SUBJECT", "FORMAT", "VERSION" }),
+		indexes = @Index(name = "IDX_SCHEMA_SUBJECT_FORMAT_FINGERPRINT", columnList = "SUBJECT, FORMAT, FINGERPRINT"))
 public class Schema {
 
 	@Id
@@ -50,6 +56,14 @@ public class Schema {
 	@Column(name = "DEFINITION", nullable = false, length = 8192)
 	private String definition;
 
+	/**
+	 * Fingerprint of the definition as computed by the format's validator, used to find
+	 * registered versions matching a definition without reading every version back.
+	 */
+	@JsonIgnore
+	@Column(name = "FINGERPRINT", length = 64)
+	private String fingerprint;
+
 	public Integer getId() {
 		return this.id;
 	}
@@ -90,4 +104,12 @@ public class Schema {
 		this.definition = definition;
 	}
 
+	public String getFingerprint() {
+		return this.fingerprint;
+	}
+
+	public void setFingerprint(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Spring Cloud Team
+ *
+ * Identifies the schemas to be retrieved in a single batch request, either by id or by
+ * reference. References only need their subject, format and version to be set.
+ */
+public class SchemaBatchRequest {
+
+	private List<Integer> ids = new ArrayList<>();
+
+	private List<Schema> references = new ArrayList<>();
+
+	public List<Integer> getIds() {
+		return this.ids;
+	}
+
+	public void setIds(List<Integer> ids) {
+		this.ids = ids;
+	}
+
+	public List<Schema> getReferences() {
+		return this.references;
+	}
+
+	public void setReferences(List<Schema> references) {
+		this.references = references;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.model;
+
+/**
+ * @author Spring Cloud Team
+ *
+ * Outcome of registering one of the schemas of a batch registration. On success, the
+ * schema is the registered one and the status is {@code 201}; otherwise the schema is
+ * the submitted one, and the status and error are those a single registration would
+ * have failed with.
+ */
+public class SchemaRegistrationResult {
+
+	private Schema schema;
+
+	private int status;
+
+	private String error;
+
+	public SchemaRegistrationResult() {
+	}
+
+	public SchemaRegistrationResult(Schema schema, int status, String error) {
+		this.schema = schema;
+		this.status = status;
+		this.error = error;
+	}
+
+	public Schema getSchema() {
+		return this.schema;
+	}
+
+	public void setSchema(Schema schema) {
+		this.schema = schema;
+	}
+
+	public int getStatus() {
+		return this.status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public String getError() {
+		return this.error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.repository;
+
+/**
+ * Point in time statistics of one of the {@link SchemaRepositoryCache} caches.
+ *
+ * @author Spring Cloud Team
+ */
+public final class CacheStatistics {
+
+	private final String name;
+
+	private final int size;
+
+	private final long hits;
+
+	private final long misses;
+
+	CacheStatistics(String name, int size, long hits, long misses) {
+		this.name = name;
+		this.size = size;
+		this.hits = hits;
+		this.misses = misses;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public int getSize() {
+		return this.size;
+	}
+
+	public long getHits() {
+		return this.hits;
+	}
+
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Return the ratio of lookups served from the cache.
+	 * @return the hit ratio between 0 and 1, or 0 if the cache was never used
+	 */
+	public double getHitRatio() {
+		long requests = this.hits + this.misses;
+		return requests == 0 ? 0 : (double) this.hits / requests;
+	}
+
+}
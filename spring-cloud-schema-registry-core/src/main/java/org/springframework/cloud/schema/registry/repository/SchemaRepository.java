@@ -19,7 +19,12 @@ package org.springframework.cloud.schema.registry.repository;
 import java.util.List;
 
 import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -27,10 +32,78 @@ import org.springframework.transaction.annotation.Transactional;
  */
 public interface SchemaRepository extends PagingAndSortingRepository<Schema, Integer> {
 
+	/**
+	 * Selects the {@link SchemaSummary} properties, leaving out the definition.
+	 */
+	String SUMMARY_SELECT = "select s.id as id, s.subject as subject, s.format as format, "
+			+ "s.version as version, s.fingerprint as fingerprint from Schema s ";
+
 	@Transactional
 	List<Schema> findBySubjectAndFormatOrderByVersion(String subject, String format);
 
 	@Transactional
 	Schema findOneBySubjectAndFormatAndVersion(String subject, String format, Integer version);
 
+	@Transactional
+	Slice<Schema> findBySubjectAndFormatOrderByVersion(String subject, String format, Pageable pageable);
+
+	@Transactional
+	Schema findTopBySubjectAndFormatOrderByVersionDesc(String subject, String format);
+
+	@Transactional
+	@Query("select max(s.version) from Schema s where s.subject = :subject and s.format = :format")
+	Integer findLatestVersion(@Param("subject") String subject, @Param("format") String format);
+
+	@Transactional
+	@Query(SUMMARY_SELECT + "where s.subject = :subject")
+	List<SchemaSummary> findSummariesBySubject(@Param("subject") String subject);
+
+	@Transactional
+	@Query(SUMMARY_SELECT + "where s.subject = :subject and s.format = :format order by s.version")
+	List<SchemaSummary> findSummariesBySubjectAndFormat(@Param("subject") String subject,
+			@Param("format") String format);
+
+	@Transactional
+	@Modifying
+	@Query("delete from Schema s where s.subject = :subject")
+	int deleteBySubject(@Param("subject") String subject);
+
+	/**
+	 * Delete all versions of a subject, in every format, in a single transaction.
+	 * @param subject the schema subject
+	 * @return the summaries of the deleted versions
+	 */
+	@Transactional
+	default List<SchemaSummary> deleteSummariesBySubject(String subject) {
+		List<SchemaSummary> schemas = findSummariesBySubject(subject);
+		deleteBySubject(subject);
+		return schemas;
+	}
+
+	@Transactional
+	@Query("select distinct s.subject from Schema s order by s.subject")
+	Slice<String> findSubjects(Pageable pageable);
+
+	@Transactional
+	@Query("select count(distinct s.subject) from Schema s")
+	long countSubjects();
+
+	/**
+	 * Find the registered versions that may match a definition with the given
+	 * fingerprint. Versions without a fingerprint, such as those written by older servers
+	 * sharing the database after the backfill has run, are always included.
+	 * @param subject the schema subject
+	 * @param format the schema format
+	 * @param fingerprint the fingerprint of the definition to match
+	 * @return the candidate versions, in ascending version order
+	 */
+	@Transactional
+	@Query(SUMMARY_SELECT + "where s.subject = :subject and s.format = :format "
+			+ "and (s.fingerprint = :fingerprint or s.fingerprint is null) order by s.version")
+	List<SchemaSummary> findMatchCandidates(@Param("subject") String subject, @Param("format") String format,
+			@Param("fingerprint") String fingerprint);
+
+	@Transactional
+	List<Schema> findTop100ByFingerprintIsNullAndIdGreaterThanOrderById(Integer id);
+
 }
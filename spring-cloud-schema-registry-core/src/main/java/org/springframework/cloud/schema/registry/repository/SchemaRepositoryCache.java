@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.support.ExpiringLruCache;
+import org.springframework.util.Assert;
+
+/**
+ * Read-through cache for the {@link SchemaRepository} lookups served by the server.
+ * Registered schemas never change, so cached entries only need to be evicted when a
+ * schema is registered or deleted through this node; the time to live bounds how long
+ * changes made through other nodes sharing the database may go unnoticed. Lookups that
+ * find nothing are not cached.
+ *
+ * @author Spring Cloud Team
+ */
+public class SchemaRepositoryCache {
+
+	private final SchemaRepository repository;
+
+	private final ExpiringLruCache<Integer, Schema> byId;
+
+	private final ExpiringLruCache<Key, Schema> byReference;
+
+	private final ExpiringLruCache<Key, List<Schema>> bySubjectAndFormat;
+
+	/**
+	 * Create a cache for the repository.
+	 * @param repository the repository to read through to
+	 * @param maxSize the maximum number of entries of each lookup cache, {@code 0}
+	 * disables caching
+	 * @param timeToLive how long entries are served before being read again
+	 */
+	public SchemaRepositoryCache(SchemaRepository repository, int maxSize, Duration timeToLive) {
+		Assert.notNull(repository, "cannot be null");
+		Assert.notNull(timeToLive, "cannot be null");
+		this.repository = repository;
+		long ttlNanos = timeToLive.toNanos();
+		this.byId = new ExpiringLruCache<>(maxSize, ttlNanos);
+		this.byReference = new ExpiringLruCache<>(maxSize, ttlNanos);
+		this.bySubjectAndFormat = new ExpiringLruCache<>(maxSize, ttlNanos);
+	}
+
+	public Schema findById(Integer id) {
+		return this.byId.get(id, key -> this.repository.findById(key).orElse(null));
+	}
+
+	/**
+	 * Find the schemas with the given ids, reading only those not cached from the
+	 * repository, with a single query.
+	 * @param ids the schema ids
+	 * @return the schemas in the order of their ids, without the ids matching none
+	 */
+	public List<Schema> findAllById(Collection<Integer> ids) {
+		return new ArrayList<>(this.byId.getAll(ids, misses -> {
+			Map<Integer, Schema> found = new HashMap<>();
+			this.repository.findAllById(misses).forEach(schema -> found.put(schema.getId(), schema));
+			return found;
+		}).values());
+	}
+
+	public Schema findOneBySubjectAndFormatAndVersion(String subject, String format, Integer version) {
+		return this.byReference.get(new Key(subject, format, version),
+				key -> this.repository.findOneBySubjectAndFormatAndVersion(subject, format, version));
+	}
+
+	/**
+	 * Find the versions of a subject and format.
+	 * @param subject the schema subject
+	 * @param format the schema format
+	 * @return the unmodifiable list of schemas in ascending version order, empty if none
+	 * are registered
+	 */
+	public List<Schema> findBySubjectAndFormatOrderByVersion(String subject, String format) {
+		List<Schema> schemas = this.bySubjectAndFormat.get(new Key(subject, format, null), key -> {
+			List<Schema> found = this.repository.findBySubjectAndFormatOrderByVersion(subject, format);
+			return found.isEmpty() ? null : Collections.unmodifiableList(found);
+		});
+		return schemas != null ? schemas : Collections.emptyList();
+	}
+
+	/**
+	 * Evict every entry the schema may be cached under, to be called once it has been
+	 * registered or deleted.
+	 * @param schema the registered or deleted schema
+	 */
+	public void evict(Schema schema) {
+		evict(schema.getId(), schema.getSubject(), schema.getFormat(), schema.getVersion());
+	}
+
+	/**
+	 * Evict every entry the summarized schema may be cached under, to be called once it
+	 * has been deleted.
+	 * @param schema the summary of the deleted schema
+	 */
+	public void evict(SchemaSummary schema) {
+		evict(schema.getId(), schema.getSubject(), schema.getFormat(), schema.getVersion());
+	}
+
+	private void evict(Integer id, String subject, String format, Integer version) {
+		if (id != null) {
+			this.byId.evict(id);
+		}
+		this.byReference.evict(new Key(subject, format, version));
+		this.bySubjectAndFormat.evict(new Key(subject, format, null));
+	}
+
+	public void clear() {
+		this.byId.clear();
+		this.byReference.clear();
+		this.bySubjectAndFormat.clear();
+	}
+
+	/**
+	 * Return the statistics of the lookup caches, named {@code id}, {@code reference}
+	 * and {@code subject}.
+	 * @return the statistics of each cache
+	 */
+	public List<CacheStatistics> getStatistics() {
+		return Arrays.asList(statistics("id", this.byId), statistics("reference", this.byReference),
+				statistics("subject", this.bySubjectAndFormat));
+	}
+
+	private static CacheStatistics statistics(String name, ExpiringLruCache<?, ?> cache) {
+		return new CacheStatistics(name, cache.size(), cache.hits(), cache.misses());
+	}
+
+	private static final class Key {
+
+		private final String subject;
+
+		private final String format;
+
+		private final Integer version;
+
+		Key(String subject, String format, Integer version) {
+			this.subject = subject;
+			this.format = format;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key other = (Key) o;
+			return Objects.equals(this.subject, other.subject) && Objects.equals(this.format, other.format)
+					&& Objects.equals(this.version, other.version);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.subject, this.format, this.version);
+		}
+
+	}
+
+}
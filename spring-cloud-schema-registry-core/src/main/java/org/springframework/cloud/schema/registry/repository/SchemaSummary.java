@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.repository;
+
+/**
+ * Projection of a {@link org.springframework.cloud.schema.registry.model.Schema} without
+ * its definition, for queries that only need to identify versions.
+ *
+ * @author Spring Cloud Team
+ */
+public interface SchemaSummary {
+
+	Integer getId();
+
+	String getSubject();
+
+	String getFormat();
+
+	Integer getVersion();
+
+	String getFingerprint();
+
+}
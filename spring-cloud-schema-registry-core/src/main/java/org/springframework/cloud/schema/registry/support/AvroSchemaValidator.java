@@ -16,8 +16,12 @@
 
 package org.springframework.cloud.schema.registry.support;
 
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaCompatibility.SchemaCompatibilityType;
+import org.apache.avro.SchemaNormalization;
 import org.apache.avro.SchemaParseException;
 
 import org.springframework.cloud.schema.registry.model.Compatibility;
@@ -34,11 +38,49 @@ public class AvroSchemaValidator implements SchemaValidator {
 	 */
 	public static final String AVRO_FORMAT = "avro";
 
+	/**
+	 * Default maximum number of compatibility results memoized.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 1000;
+
+	private final ParsedSchemaCache parsedSchemas;
+
+	/**
+	 * Compatibility results, by digests of the source and other definition texts. The
+	 * whole text is digested rather than its canonical form, which leaves out the
+	 * default values that compatibility depends on.
+	 */
+	private final ExpiringLruCache<String, Compatibility> compatibilities;
+
+	public AvroSchemaValidator() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a validator with its own cache of parsed schemas.
+	 * @param cacheSize the maximum number of parsed schemas and of compatibility
+	 * results memoized, {@code 0} disables memoization
+	 */
+	public AvroSchemaValidator(int cacheSize) {
+		this(new ParsedSchemaCache(cacheSize), cacheSize);
+	}
+
+	/**
+	 * Create a validator sharing a cache of parsed schemas.
+	 * @param parsedSchemas the cache of parsed schemas
+	 * @param compatibilityCacheSize the maximum number of compatibility results
+	 * memoized, {@code 0} disables memoization
+	 */
+	public AvroSchemaValidator(ParsedSchemaCache parsedSchemas, int compatibilityCacheSize) {
+		this.parsedSchemas = parsedSchemas;
+		this.compatibilities = new ExpiringLruCache<>(compatibilityCacheSize);
+	}
+
 	@Override
 	public boolean isValid(String definition) {
 		boolean result = true;
 		try {
-			new org.apache.avro.Schema.Parser().parse(definition);
+			parse(definition);
 		}
 		catch (SchemaParseException ex) {
 			result = false;
@@ -49,24 +91,52 @@ public class AvroSchemaValidator implements SchemaValidator {
 	@Override
 	public void validate(String definition) {
 		try {
-			new org.apache.avro.Schema.Parser().parse(definition);
+			parse(definition);
 		}
 		catch (SchemaParseException ex) {
 			throw new InvalidSchemaException((ex.getMessage()));
 		}
 	}
 
+	/**
+	 * Check the compatibility of the source schema with the other one. The source is
+	 * {@link Compatibility#BACKWARD backward} compatible when it can read data written
+	 * with the other schema, and {@link Compatibility#FORWARD forward} compatible when
+	 * data it writes can be read with the other schema.
+	 */
 	@Override
 	public Compatibility compatibilityCheck(String source, String other) {
-		return null;
+		return this.compatibilities.get(this.parsedSchemas.digest(source) + this.parsedSchemas.digest(other), key -> {
+			org.apache.avro.Schema sourceSchema = parse(source);
+			org.apache.avro.Schema otherSchema = parse(other);
+			boolean backward = canRead(sourceSchema, otherSchema);
+			boolean forward = canRead(otherSchema, sourceSchema);
+			if (backward && forward) {
+				return Compatibility.FULL;
+			}
+			if (backward) {
+				return Compatibility.BACKWARD;
+			}
+			return forward ? Compatibility.FORWARD : Compatibility.INCOMPATIBLE;
+		});
+	}
+
+	private org.apache.avro.Schema parse(String definition) {
+		return this.parsedSchemas.parse(AVRO_FORMAT, definition,
+				avroDefinition -> new org.apache.avro.Schema.Parser().parse(avroDefinition));
+	}
+
+	private static boolean canRead(org.apache.avro.Schema reader, org.apache.avro.Schema writer) {
+		return SchemaCompatibility.checkReaderWriterCompatibility(reader, writer)
+				.getType() == SchemaCompatibilityType.COMPATIBLE;
 	}
 
 	@Override
 	public Schema match(List<Schema> schemas, String definition) {
 		Schema result = null;
-		org.apache.avro.Schema source = new org.apache.avro.Schema.Parser().parse(definition);
+		org.apache.avro.Schema source = parse(definition);
 		for (Schema s : schemas) {
-			org.apache.avro.Schema target = new org.apache.avro.Schema.Parser().parse(s.getDefinition());
+			org.apache.avro.Schema target = parse(s.getDefinition());
 			if (target.equals(source)) {
 				result = s;
 				break;
@@ -75,6 +145,22 @@ public class AvroSchemaValidator implements SchemaValidator {
 		return result;
 	}
 
+	/**
+	 * Digests the Avro parsing canonical form of the definition, so that definitions that
+	 * only differ in formatting, field order of the JSON objects or documentation share
+	 * a fingerprint.
+	 */
+	@Override
+	public String fingerprint(String definition) {
+		org.apache.avro.Schema schema = parse(definition);
+		try {
+			return SchemaFingerprints.toHex(SchemaNormalization.parsingFingerprint(SchemaFingerprints.ALGORITHM, schema));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 	@Override
 	public String getFormat() {
 		return AVRO_FORMAT;
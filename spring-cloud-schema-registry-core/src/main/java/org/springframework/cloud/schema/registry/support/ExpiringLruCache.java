@@ -0,0 +1,275 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded least recently used cache whose entries expire a fixed time after being
+ * loaded, and which keeps track of its hit and miss counts. Lookups do not lock: entries
+ * are kept in a {@link ConcurrentHashMap} and stamped with the time of their last access,
+ * and the least recently used entries are evicted in bulk once the cache overflows.
+ * <p>
+ * Values are loaded outside of any lock. A load first stores a placeholder for its key,
+ * and its value replaces the placeholder only if the key was not evicted in the
+ * meantime, as the value may predate the eviction. {@code null} values are not cached.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached values
+ * @author Spring Cloud Team
+ */
+public final class ExpiringLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final long ttlNanos;
+
+	private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	private final Lock evictionLock = new ReentrantLock();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Create a cache whose entries never expire.
+	 * @param sizeLimit the maximum number of entries, {@code 0} disables caching
+	 */
+	public ExpiringLruCache(int sizeLimit) {
+		this(sizeLimit, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Create a cache whose entries expire.
+	 * @param sizeLimit the maximum number of entries, {@code 0} disables caching
+	 * @param ttlNanos how long entries are served after being loaded, in nanoseconds
+	 */
+	public ExpiringLruCache(int sizeLimit, long ttlNanos) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		Assert.isTrue(ttlNanos > 0, "Cache time to live must be positive");
+		this.sizeLimit = sizeLimit;
+		this.ttlNanos = ttlNanos;
+	}
+
+	public V get(K key, Function<K, V> loader) {
+		if (this.sizeLimit == 0) {
+			this.misses.increment();
+			return loader.apply(key);
+		}
+		long now = System.nanoTime();
+		V cachedValue = getIfFresh(key, now);
+		if (cachedValue != null) {
+			return cachedValue;
+		}
+		this.misses.increment();
+		Entry<V> placeholder = new Entry<>(null, now);
+		this.entries.put(key, placeholder);
+		boolean cached = false;
+		try {
+			V value = loader.apply(key);
+			if (value != null) {
+				cached = this.entries.replace(key, placeholder, new Entry<>(value, now));
+			}
+			return value;
+		}
+		finally {
+			if (!cached) {
+				this.entries.remove(key, placeholder);
+			}
+			else if (this.entries.size() > this.sizeLimit) {
+				evictLeastRecentlyUsed();
+			}
+		}
+	}
+
+	/**
+	 * Return the values of the given keys, loading all those not cached with a single
+	 * call to the loader, under the same placeholders as {@link #get(Object, Function)}.
+	 * @param keys the keys to look up
+	 * @param loader returns the values of the keys it is given, leaving out those without
+	 * a value
+	 * @return the values in the order of the given keys, without the keys that have no
+	 * value
+	 */
+	public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+		long now = System.nanoTime();
+		Map<K, V> cached = new LinkedHashMap<>();
+		Map<K, Entry<V>> placeholders = new LinkedHashMap<>();
+		for (K key : keys) {
+			if (cached.containsKey(key) || placeholders.containsKey(key)) {
+				continue;
+			}
+			V value = (this.sizeLimit != 0) ? getIfFresh(key, now) : null;
+			if (value != null) {
+				cached.put(key, value);
+			}
+			else {
+				this.misses.increment();
+				placeholders.put(key, new Entry<>(null, now));
+			}
+		}
+		if (placeholders.isEmpty()) {
+			return cached;
+		}
+		if (this.sizeLimit != 0) {
+			placeholders.forEach(this.entries::put);
+		}
+		boolean stored = false;
+		Map<K, V> loaded;
+		try {
+			loaded = loader.apply(new ArrayList<>(placeholders.keySet()));
+			for (Map.Entry<K, Entry<V>> placeholder : placeholders.entrySet()) {
+				V value = loaded.get(placeholder.getKey());
+				if (value != null && this.sizeLimit != 0 && this.entries.replace(placeholder.getKey(),
+						placeholder.getValue(), new Entry<>(value, now))) {
+					stored = true;
+				}
+			}
+		}
+		finally {
+			placeholders.forEach(this.entries::remove);
+			if (stored && this.entries.size() > this.sizeLimit) {
+				evictLeastRecentlyUsed();
+			}
+		}
+		Map<K, V> values = new LinkedHashMap<>();
+		for (K key : keys) {
+			V value = cached.containsKey(key) ? cached.get(key) : loaded.get(key);
+			if (value != null) {
+				values.put(key, value);
+			}
+		}
+		return values;
+	}
+
+	public void evict(K key) {
+		this.entries.remove(key);
+	}
+
+	public void clear() {
+		this.entries.clear();
+	}
+
+	public int size() {
+		return this.entries.size();
+	}
+
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+	public long hits() {
+		return this.hits.sum();
+	}
+
+	public long misses() {
+		return this.misses.sum();
+	}
+
+	private V getIfFresh(K key, long now) {
+		Entry<V> entry = this.entries.get(key);
+		if (entry != null && entry.value != null) {
+			if (now - entry.loadedAt < this.ttlNanos) {
+				entry.accessedAt = now;
+				this.hits.increment();
+				return entry.value;
+			}
+			this.entries.remove(key, entry);
+		}
+		return null;
+	}
+
+	/**
+	 * Evict the least recently used entries until the cache fits its size limit. The
+	 * thread holding the eviction lock evicts on behalf of the others, which check the
+	 * size again after it releases the lock.
+	 */
+	private void evictLeastRecentlyUsed() {
+		while (this.entries.size() > this.sizeLimit && this.evictionLock.tryLock()) {
+			try {
+				evictOnce();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Evict the least recently used entries, and a tenth of the size limit more, so that
+	 * the scan of the entries is shared by the following loads.
+	 */
+	private void evictOnce() {
+		int excess = this.entries.size() - this.sizeLimit;
+		if (excess <= 0) {
+			return;
+		}
+		long[] accessTimes = new long[this.entries.size()];
+		int count = 0;
+		for (Entry<V> entry : this.entries.values()) {
+			if (count == accessTimes.length) {
+				break;
+			}
+			accessTimes[count++] = entry.accessedAt;
+		}
+		int evictions = Math.min(count, excess + this.sizeLimit / 10);
+		if (evictions == 0) {
+			return;
+		}
+		Arrays.sort(accessTimes, 0, count);
+		long threshold = accessTimes[evictions - 1];
+		for (Map.Entry<K, Entry<V>> candidate : this.entries.entrySet()) {
+			if (evictions == 0) {
+				break;
+			}
+			if (candidate.getValue().accessedAt <= threshold
+					&& this.entries.remove(candidate.getKey(), candidate.getValue())) {
+				evictions--;
+			}
+		}
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+
+		private final long loadedAt;
+
+		private volatile long accessedAt;
+
+		Entry(V value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+			this.accessedAt = loadedAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.schema.registry.repository.CacheStatistics;
+import org.springframework.cloud.schema.registry.repository.SchemaRepository;
+import org.springframework.cloud.schema.registry.repository.SchemaRepositoryCache;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ServerMetrics} publishing to a Micrometer {@link MeterRegistry}. All tags have a
+ * bounded set of values: the operation, the registration phase, the repository method,
+ * the outcome, the simple name of the exception class of failures, and the name of the
+ * cache.
+ *
+ * @author Spring Cloud Team
+ */
+public class MicrometerServerMetrics implements ServerMetrics, AutoCloseable {
+
+	/**
+	 * Name of the timer of requests.
+	 */
+	public static final String REQUESTS = "spring.cloud.schema.registry.server.requests";
+
+	/**
+	 * Name of the timer of the phases of registrations.
+	 */
+	public static final String REGISTRATION_PHASES = "spring.cloud.schema.registry.server.registration";
+
+	/**
+	 * Name of the timer of repository queries.
+	 */
+	public static final String REPOSITORY_QUERIES = "spring.cloud.schema.registry.server.repository";
+
+	/**
+	 * Name of the gauge of registered subjects.
+	 */
+	public static final String SUBJECTS = "spring.cloud.schema.registry.server.subjects";
+
+	/**
+	 * Name of the gauge of registered schema versions.
+	 */
+	public static final String SCHEMAS = "spring.cloud.schema.registry.server.schemas";
+
+	/**
+	 * Name of the counter of cache lookups.
+	 */
+	public static final String CACHE_ACCESSES = "spring.cloud.schema.registry.server.cache";
+
+	/**
+	 * Name of the gauge of cache sizes.
+	 */
+	public static final String CACHE_SIZE = "spring.cloud.schema.registry.server.cache.size";
+
+	/**
+	 * Name of the {@link ParsedSchemaCache} in the cache tags.
+	 */
+	public static final String PARSED_SCHEMA_CACHE = "parsed";
+
+	private static final Log logger = LogFactory.getLog(MicrometerServerMetrics.class);
+
+	private final MeterRegistry registry;
+
+	private final Map<String, Timer> requestSuccesses = new ConcurrentHashMap<>();
+
+	private final Map<String, Timer> querySuccesses = new ConcurrentHashMap<>();
+
+	private final Map<RegistrationPhase, Timer> phases = new EnumMap<>(RegistrationPhase.class);
+
+	private final AtomicLong subjects = new AtomicLong();
+
+	private final AtomicLong schemas = new AtomicLong();
+
+	private SchemaRepository repository;
+
+	private ScheduledExecutorService countRefresher;
+
+	public MicrometerServerMetrics(MeterRegistry registry) {
+		Assert.notNull(registry, "'registry' cannot be null");
+		this.registry = registry;
+		for (RegistrationPhase phase : RegistrationPhase.values()) {
+			this.phases.put(phase, Timer.builder(REGISTRATION_PHASES)
+					.description("Duration of the phases of schema registrations")
+					.tag("phase", phase.name().toLowerCase(Locale.ROOT))
+					.register(registry));
+		}
+	}
+
+	/**
+	 * Publish the number of registered subjects and schema versions, and the statistics of
+	 * the server caches. The counts are queried from the repository in the background, at
+	 * the given interval, rather than each time the gauges are read.
+	 * @param repository the schema repository
+	 * @param cache the cache of the schema lookups
+	 * @param parsedSchemaCache the cache of parsed definitions
+	 * @param countRefreshInterval the interval between two counts
+	 */
+	public void bindGauges(SchemaRepository repository, SchemaRepositoryCache cache,
+			ParsedSchemaCache parsedSchemaCache, Duration countRefreshInterval) {
+		Assert.isTrue(this.repository == null, "Gauges are already bound");
+		Assert.isTrue(!countRefreshInterval.isNegative() && !countRefreshInterval.isZero(),
+				"'countRefreshInterval' must be positive");
+		this.repository = repository;
+		Gauge.builder(SUBJECTS, this.subjects, AtomicLong::get)
+				.description("Number of registered subjects")
+				.register(this.registry);
+		Gauge.builder(SCHEMAS, this.schemas, AtomicLong::get)
+				.description("Number of registered schema versions")
+				.register(this.registry);
+		this.countRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "schema-registry-metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.countRefresher.scheduleWithFixedDelay(this::refreshCounts, 0, countRefreshInterval.toMillis(),
+				TimeUnit.MILLISECONDS);
+		for (CacheStatistics statistics : cache.getStatistics()) {
+			String name = statistics.getName();
+			bindCache(name, cache, c -> statistics(c, name).getHits(), c -> statistics(c, name).getMisses(),
+					c -> statistics(c, name).getSize());
+		}
+		bindCache(PARSED_SCHEMA_CACHE, parsedSchemaCache, ParsedSchemaCache::hits, ParsedSchemaCache::misses,
+				ParsedSchemaCache::size);
+	}
+
+	/**
+	 * Count the registered subjects and schema versions published by the gauges.
+	 */
+	public void refreshCounts() {
+		Assert.state(this.repository != null, "Gauges are not bound");
+		try {
+			this.subjects.set(this.repository.countSubjects());
+			this.schemas.set(this.repository.count());
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Could not count the registered schemas", ex);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (this.countRefresher != null) {
+			this.countRefresher.shutdownNow();
+		}
+	}
+
+	@Override
+	public void request(String operation, long durationNanos, Throwable failure) {
+		record(REQUESTS, "Duration of the requests handled by the schema registry server", "operation",
+				operation, this.requestSuccesses, durationNanos, failure);
+	}
+
+	@Override
+	public void registrationPhase(RegistrationPhase phase, long durationNanos) {
+		this.phases.get(phase).record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void repositoryQuery(String method, long durationNanos, Throwable failure) {
+		record(REPOSITORY_QUERIES, "Duration of the schema repository queries", "method", method,
+				this.querySuccesses, durationNanos, failure);
+	}
+
+	private void record(String name, String description, String key, String value, Map<String, Timer> successes,
+			long durationNanos, Throwable failure) {
+		Timer timer = (failure != null) ? timer(name, description, key, value, "failure",
+				failure.getClass().getSimpleName())
+				: successes.computeIfAbsent(value, v -> timer(name, description, key, v, "success", "none"));
+		timer.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private Timer timer(String name, String description, String key, String value, String outcome,
+			String exception) {
+		return Timer.builder(name)
+				.description(description)
+				.tag(key, value)
+				.tag("outcome", outcome)
+				.tag("exception", exception)
+				.register(this.registry);
+	}
+
+	private <T> void bindCache(String name, T cache, ToDoubleFunction<T> hits, ToDoubleFunction<T> misses,
+			ToDoubleFunction<T> size) {
+		FunctionCounter.builder(CACHE_ACCESSES, cache, hits)
+				.description("Lookups in the schema registry server caches")
+				.tag("cache", name)
+				.tag("result", "hit")
+				.register(this.registry);
+		FunctionCounter.builder(CACHE_ACCESSES, cache, misses)
+				.description("Lookups in the schema registry server caches")
+				.tag("cache", name)
+				.tag("result", "miss")
+				.register(this.registry);
+		Gauge.builder(CACHE_SIZE, cache, size)
+				.description("Number of entries in the schema registry server caches")
+				.tag("cache", name)
+				.register(this.registry);
+	}
+
+	private static CacheStatistics statistics(SchemaRepositoryCache cache, String name) {
+		for (CacheStatistics statistics : cache.getStatistics()) {
+			if (statistics.getName().equals(name)) {
+				return statistics;
+			}
+		}
+		throw new IllegalStateException("No cache named " + name);
+	}
+
+}
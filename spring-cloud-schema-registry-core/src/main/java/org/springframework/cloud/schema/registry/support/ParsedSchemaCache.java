@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of parsed schema definitions shared by the {@link SchemaValidator
+ * validators} of a server, so that registering a schema parses each distinct definition
+ * once, however many times it is validated, matched or checked for compatibility.
+ * Definitions are keyed by their format and the digest of their text; definitions that
+ * fail to parse are not cached.
+ *
+ * @author Spring Cloud Team
+ */
+public class ParsedSchemaCache {
+
+	/**
+	 * Default maximum number of parsed schemas kept.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	private final ExpiringLruCache<String, Object> parsedSchemas;
+
+	public ParsedSchemaCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a cache of parsed schemas.
+	 * @param maxSize the maximum number of parsed schemas kept, {@code 0} disables
+	 * caching
+	 */
+	public ParsedSchemaCache(int maxSize) {
+		this.parsedSchemas = new ExpiringLruCache<>(maxSize);
+	}
+
+	/**
+	 * Return the parsed definition, parsing it on first use.
+	 * @param format the format of the definition, which determines the parsed type
+	 * @param definition the textual representation of the schema
+	 * @param parser parses the definition, throwing an exception if it is invalid
+	 * @param <T> the parsed schema type of the format
+	 * @return the parsed schema
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T parse(String format, String definition, Function<String, T> parser) {
+		return (T) this.parsedSchemas.get(format + ':' + digest(definition), key -> parser.apply(definition));
+	}
+
+	/**
+	 * Digest a definition, as used to key parsed schemas.
+	 * @param definition the textual representation of the schema
+	 * @return the digest, as a hexadecimal string
+	 */
+	public String digest(String definition) {
+		return SchemaFingerprints.sha256(definition.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public int size() {
+		return this.parsedSchemas.size();
+	}
+
+	public long hits() {
+		return this.parsedSchemas.hits();
+	}
+
+	public long misses() {
+		return this.parsedSchemas.misses();
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.util.Assert;
+
+/**
+ * Records the duration of each call to a repository, including the transaction it runs
+ * in, with the {@link ServerMetrics#repositoryQuery(String, long, Throwable)} of the
+ * server. Methods inherited from {@link Object} and ignored methods are not recorded.
+ *
+ * @author Spring Cloud Team
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+	private final Supplier<ServerMetrics> metricsSupplier;
+
+	private final Set<String> ignoredMethods;
+
+	private volatile ServerMetrics metrics;
+
+	/**
+	 * Create an interceptor looking up the server metrics on first use, so that they may
+	 * depend on the intercepted repository.
+	 * @param metricsSupplier the supplier of the server metrics
+	 */
+	public RepositoryMetricsInterceptor(Supplier<ServerMetrics> metricsSupplier) {
+		this(metricsSupplier, Collections.emptySet());
+	}
+
+	/**
+	 * Create an interceptor looking up the server metrics on first use, so that they may
+	 * depend on the intercepted repository.
+	 * @param metricsSupplier the supplier of the server metrics
+	 * @param ignoredMethods the names of the repository methods not to record
+	 */
+	public RepositoryMetricsInterceptor(Supplier<ServerMetrics> metricsSupplier, Collection<String> ignoredMethods) {
+		Assert.notNull(metricsSupplier, "'metricsSupplier' cannot be null");
+		Assert.notNull(ignoredMethods, "'ignoredMethods' cannot be null");
+		this.metricsSupplier = metricsSupplier;
+		this.ignoredMethods = new HashSet<>(ignoredMethods);
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		if (invocation.getMethod().getDeclaringClass() == Object.class
+				|| this.ignoredMethods.contains(invocation.getMethod().getName())) {
+			return invocation.proceed();
+		}
+		ServerMetrics metrics = metrics();
+		long start = System.nanoTime();
+		Throwable failure = null;
+		try {
+			return invocation.proceed();
+		}
+		catch (Throwable ex) {
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			metrics.repositoryQuery(invocation.getMethod().getName(), System.nanoTime() - start, failure);
+		}
+	}
+
+	private ServerMetrics metrics() {
+		ServerMetrics metrics = this.metrics;
+		if (metrics == null) {
+			metrics = this.metricsSupplier.get();
+			this.metrics = (metrics != null) ? metrics : ServerMetrics.NONE;
+		}
+		return this.metrics;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.repository.SchemaRepository;
+
+/**
+ * Computes the fingerprint of schemas registered before fingerprints were introduced.
+ * Runs once on startup, before the server accepts requests, and processes the rows in
+ * batches ordered by id. Rows whose format has no validator, or whose definition can no
+ * longer be parsed, are left without a fingerprint; registration still considers them as
+ * candidates for a match.
+ *
+ * @author Spring Cloud Team
+ */
+public class SchemaFingerprintBackfill implements SmartInitializingSingleton {
+
+	private final Log logger = LogFactory.getLog(SchemaFingerprintBackfill.class);
+
+	private final SchemaRepository repository;
+
+	private final Map<String, SchemaValidator> validators;
+
+	public SchemaFingerprintBackfill(SchemaRepository repository, Map<String, SchemaValidator> validators) {
+		this.repository = repository;
+		this.validators = validators;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		int updated = 0;
+		int lastId = Integer.MIN_VALUE;
+		List<Schema> batch;
+		while (!(batch = this.repository.findTop100ByFingerprintIsNullAndIdGreaterThanOrderById(lastId)).isEmpty()) {
+			for (Schema schema : batch) {
+				lastId = schema.getId();
+				SchemaValidator validator = this.validators.get(schema.getFormat());
+				if (validator == null) {
+					continue;
+				}
+				try {
+					schema.setFingerprint(validator.fingerprint(schema.getDefinition()));
+					updated++;
+				}
+				catch (RuntimeException ex) {
+					logger.warn("Could not compute the fingerprint of schema " + schema.getId(), ex);
+				}
+			}
+			this.repository.saveAll(batch);
+		}
+		if (updated > 0) {
+			logger.info("Computed the fingerprint of " + updated + " previously registered schemas");
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Helpers for computing and encoding schema fingerprints.
+ *
+ * @author Spring Cloud Team
+ */
+public final class SchemaFingerprints {
+
+	/**
+	 * Digest algorithm used for fingerprints, guaranteed to be available on every JVM.
+	 */
+	static final String ALGORITHM = "SHA-256";
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private SchemaFingerprints() {
+	}
+
+	/**
+	 * Digest bytes with SHA-256.
+	 * @param bytes the bytes to digest
+	 * @return the digest, as a hexadecimal string
+	 */
+	public static String sha256(byte[] bytes) {
+		try {
+			return toHex(MessageDigest.getInstance(ALGORITHM).digest(bytes));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	static String toHex(byte[] digest) {
+		char[] chars = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++) {
+			chars[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+			chars[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+		}
+		return new String(chars);
+	}
+
+}
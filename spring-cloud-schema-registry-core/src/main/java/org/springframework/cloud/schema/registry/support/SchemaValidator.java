@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.schema.registry.support;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.cloud.schema.registry.model.Compatibility;
@@ -26,7 +27,8 @@ import org.springframework.cloud.schema.registry.model.Schema;
  * @author Christian Tzolov
  *
  * Provides utility methods to validate, check compatibility and match schemas of
- * different implementations
+ * different implementations. Implementations that parse definitions should do so
+ * through the server's {@link ParsedSchemaCache}.
  */
 public interface SchemaValidator {
 
@@ -65,6 +67,19 @@ public interface SchemaValidator {
 	 */
 	Schema match(List<Schema> schemas, String definition);
 
+	/**
+	 * Computes a fingerprint used to look up the registered versions that may match a
+	 * definition. Definitions of the same schema must produce the same fingerprint, but
+	 * different schemas may share one, as candidates are confirmed with
+	 * {@link #match(List, String)}. The default implementation digests the definition
+	 * text as is.
+	 * @param definition - The textual representation of the schema file
+	 * @return the fingerprint, as a hexadecimal string of at most 64 characters
+	 */
+	default String fingerprint(String definition) {
+		return SchemaFingerprints.sha256(definition.getBytes(StandardCharsets.UTF_8));
+	}
+
 	String getFormat();
 
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+/**
+ * Receives the measurements of the schema registry server, such as the duration of each
+ * request, of each phase of a registration and of each repository query. Every method
+ * does nothing by default.
+ *
+ * @author Spring Cloud Team
+ * @see MicrometerServerMetrics
+ */
+public interface ServerMetrics {
+
+	/**
+	 * Metrics that record nothing.
+	 */
+	ServerMetrics NONE = new ServerMetrics() {
+	};
+
+	/**
+	 * Record a request handled by the server.
+	 * @param operation the name of the operation, such as {@code register} or
+	 * {@code findOne}
+	 * @param durationNanos the duration of the request, in nanoseconds
+	 * @param failure the exception the request failed with, or {@code null} if it
+	 * succeeded
+	 */
+	default void request(String operation, long durationNanos, Throwable failure) {
+	}
+
+	/**
+	 * Record one phase of the registration of a schema.
+	 * @param phase the phase of the registration
+	 * @param durationNanos the duration of the phase, in nanoseconds
+	 */
+	default void registrationPhase(RegistrationPhase phase, long durationNanos) {
+	}
+
+	/**
+	 * Record a query of the schema repository.
+	 * @param method the name of the repository method
+	 * @param durationNanos the duration of the query, in nanoseconds
+	 * @param failure the exception the query failed with, or {@code null} if it
+	 * succeeded
+	 */
+	default void repositoryQuery(String method, long durationNanos, Throwable failure) {
+	}
+
+	/**
+	 * The phases of the registration of a schema, in the order they happen.
+	 */
+	enum RegistrationPhase {
+
+		/**
+		 * Validation and fingerprinting of the definition.
+		 */
+		VALIDATE,
+
+		/**
+		 * Wait for the registration lock of the subject and format.
+		 */
+		LOCK,
+
+		/**
+		 * Lookup of the latest version and of a registered version matching the
+		 * definition.
+		 */
+		MATCH,
+
+		/**
+		 * Compatibility check against the registered versions.
+		 */
+		COMPATIBILITY,
+
+		/**
+		 * Insertion of the new version.
+		 */
+		SAVE
+
+	}
+
+}
@@ -0,0 +1,13 @@
+-- Schema storage as created by Spring Cloud Schema Registry 1.1.
+-- Installations whose table was generated by Hibernate should baseline at this version.
+
+create sequence hibernate_sequence start with 1 increment by 1;
+
+create table SCHEMA_REPOSITORY (
+	ID integer not null,
+	VERSION integer not null,
+	SUBJECT varchar(255) not null,
+	FORMAT varchar(255) not null,
+	DEFINITION clob not null,
+	primary key (ID)
+);
@@ -0,0 +1,6 @@
+-- Definition fingerprint used to detect duplicate registrations.
+-- Existing rows are backfilled by the server on startup.
+
+alter table SCHEMA_REPOSITORY add column FINGERPRINT varchar(64);
+
+create index IDX_SCHEMA_SUBJECT_FORMAT_FINGERPRINT on SCHEMA_REPOSITORY (SUBJECT, FORMAT, FINGERPRINT);
@@ -0,0 +1,26 @@
+-- Guards against two server instances assigning the same version concurrently.
+-- The constraint's index also serves the lookups by subject, format and version.
+
+-- Concurrent registrations may already have stored the same version of a subject and
+-- format more than once. The oldest row keeps the version, and the other ones are
+-- renumbered after the latest version, in id order, so that their ids still resolve.
+-- The new versions are computed into a temporary table first, as an update can not
+-- select from the table it updates.
+create temporary table SCHEMA_VERSION_RENUMBERING as
+select s.ID as ID, (
+		select max(m.VERSION) from SCHEMA_REPOSITORY m
+		where m.SUBJECT = s.SUBJECT and m.FORMAT = s.FORMAT)
+	+ (select count(*) from SCHEMA_REPOSITORY d
+		where d.SUBJECT = s.SUBJECT and d.FORMAT = s.FORMAT and d.ID <= s.ID
+		and exists (select 1 from SCHEMA_REPOSITORY o
+			where o.SUBJECT = d.SUBJECT and o.FORMAT = d.FORMAT and o.VERSION = d.VERSION and o.ID < d.ID))
+	as VERSION
+from SCHEMA_REPOSITORY s
+where exists (select 1 from SCHEMA_REPOSITORY o
+	where o.SUBJECT = s.SUBJECT and o.FORMAT = s.FORMAT and o.VERSION = s.VERSION and o.ID < s.ID);
+
+update SCHEMA_REPOSITORY s join SCHEMA_VERSION_RENUMBERING r on r.ID = s.ID set s.VERSION = r.VERSION;
+
+drop temporary table SCHEMA_VERSION_RENUMBERING;
+
+alter table SCHEMA_REPOSITORY add constraint UK_SCHEMA_SUBJECT_FORMAT_VERSION unique (SUBJECT, FORMAT, VERSION);
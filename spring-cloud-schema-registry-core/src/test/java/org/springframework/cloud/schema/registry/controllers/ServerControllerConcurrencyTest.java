@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.controllers;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.schema.registry.config.SchemaServerProperties;
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.repository.SchemaRepository;
+import org.springframework.cloud.schema.registry.support.AvroSchemaValidator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Spring Cloud Team
+ */
+public class ServerControllerConcurrencyTest {
+
+	private static final String USER_V1 = "{\"type\": \"record\", \"name\": \"User\", "
+			+ "\"fields\": [{\"name\": \"name\", \"type\": \"string\"}]}";
+
+	private static final String USER_V2 = "{\"type\": \"record\", \"name\": \"User\", "
+			+ "\"fields\": [{\"name\": \"name\", \"type\": \"string\"}, "
+			+ "{\"name\": \"age\", \"type\": \"int\", \"default\": 0}]}";
+
+	private final SchemaRepository repository = mock(SchemaRepository.class);
+
+	private final CountDownLatch registering = new CountDownLatch(1);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@Test
+	public void registrationsOfDistinctSubjectsAreNotSerialized() throws Exception {
+		AtomicInteger ids = new AtomicInteger();
+		given(this.repository.findLatestVersion("slow", "avro")).willAnswer(invocation -> {
+			this.registering.countDown();
+			assertThat(this.release.await(10, TimeUnit.SECONDS)).isTrue();
+			return null;
+		});
+		given(this.repository.save(any(Schema.class))).willAnswer(invocation -> {
+			Schema schema = invocation.getArgument(0);
+			schema.setId(ids.incrementAndGet());
+			return schema;
+		});
+		ServerController controller = new ServerController(this.repository,
+				Collections.singletonMap("avro", new AvroSchemaValidator()), new SchemaServerProperties());
+		String fast = subjectInAnotherStripeThan("slow");
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<ResponseEntity<Schema>> slow = executor.submit(() -> controller.register(
+					schema("slow", USER_V1), UriComponentsBuilder.newInstance()));
+			assertThat(this.registering.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<ResponseEntity<Schema>> sameSubject = executor.submit(() -> controller.register(
+					schema("slow", USER_V2), UriComponentsBuilder.newInstance()));
+
+			ResponseEntity<Schema> response = controller.register(schema(fast, USER_V1),
+					UriComponentsBuilder.newInstance());
+
+			assertThat(response.getBody().getVersion()).isEqualTo(1);
+			assertThat(slow.isDone()).isFalse();
+			assertThat(sameSubject.isDone()).isFalse();
+			verify(this.repository, times(1)).findLatestVersion("slow", "avro");
+
+			this.release.countDown();
+			assertThat(slow.get(10, TimeUnit.SECONDS).getBody().getVersion()).isEqualTo(1);
+			assertThat(sameSubject.get(10, TimeUnit.SECONDS).getBody().getSubject()).isEqualTo("slow");
+		}
+		finally {
+			this.release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void registrationIsRetriedAfterLosingTheRaceForAVersion() {
+		given(this.repository.save(any(Schema.class)))
+				.willThrow(new DataIntegrityViolationException("could not execute statement",
+						new SQLException("Unique index or primary key violation: "
+								+ "\"PUBLIC.UK_SCHEMA_SUBJECT_FORMAT_VERSION_INDEX_A\"")))
+				.willAnswer(invocation -> {
+					Schema schema = invocation.getArgument(0);
+					schema.setId(1);
+					return schema;
+				});
+		ServerController controller = new ServerController(this.repository,
+				Collections.singletonMap("avro", new AvroSchemaValidator()), new SchemaServerProperties());
+
+		ResponseEntity<Schema> response = controller.register(schema("user", USER_V1),
+				UriComponentsBuilder.newInstance());
+
+		assertThat(response.getBody().getId()).isEqualTo(1);
+		verify(this.repository, times(2)).save(any(Schema.class));
+	}
+
+	@Test
+	public void registrationIsNotRetriedWhenTheSchemaItselfIsRejected() {
+		DataIntegrityViolationException failure = new DataIntegrityViolationException(
+				"could not execute statement", new SQLException("Value too long for column \"DEFINITION\""));
+		given(this.repository.save(any(Schema.class))).willThrow(failure);
+		ServerController controller = new ServerController(this.repository,
+				Collections.singletonMap("avro", new AvroSchemaValidator()), new SchemaServerProperties());
+
+		assertThatThrownBy(() -> controller.register(schema("user", USER_V1), UriComponentsBuilder.newInstance()))
+				.isSameAs(failure);
+		verify(this.repository, times(1)).save(any(Schema.class));
+	}
+
+	private static String subjectInAnotherStripeThan(String subject) {
+		int stripe = stripe(subject);
+		for (int i = 0;; i++) {
+			String candidate = "fast" + i;
+			if (stripe(candidate) != stripe) {
+				return candidate;
+			}
+		}
+	}
+
+	private static int stripe(String subject) {
+		Integer stripe = ReflectionTestUtils.invokeMethod(ServerController.class, "registrationLockStripe",
+				subject, "avro");
+		return stripe;
+	}
+
+	private static Schema schema(String subject, String definition) {
+		Schema schema = new Schema();
+		schema.setSubject(subject);
+		schema.setFormat("avro");
+		schema.setDefinition(definition);
+		return schema;
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.entityScanning;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.schema.registry.config.SchemaServerConfiguration;
+import org.springframework.cloud.schema.registry.support.MicrometerServerMetrics;
+import org.springframework.cloud.schema.registry.support.ServerMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Spring Cloud Team
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = { SchemaServerConfiguration.class, ServerControllerMetricsTest.MetricsConfiguration.class })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@EnableAutoConfiguration
+public class ServerControllerMetricsTest extends AbstractServerControllerTest {
+
+	private static final String USER_SCHEMA = "{\"type\": \"record\", \"name\": \"User\", "
+			+ "\"fields\": [{\"name\": \"name\", \"type\": \"string\"}]}";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ServerMetrics serverMetrics;
+
+	@Test
+	public void registrationIsTimedByPhase() throws Exception {
+		register();
+
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS)
+				.tag("operation", "register").tag("outcome", "success").timer().count()).isEqualTo(1);
+		for (String phase : new String[] { "validate", "lock", "match", "save" }) {
+			assertThat(this.meterRegistry.get(MicrometerServerMetrics.REGISTRATION_PHASES)
+					.tag("phase", phase).timer().count()).as(phase).isEqualTo(1);
+		}
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REPOSITORY_QUERIES)
+				.tag("method", "findLatestVersion").timer().count()).isEqualTo(1);
+		((MicrometerServerMetrics) this.serverMetrics).refreshCounts();
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.SUBJECTS).gauge().value()).isEqualTo(2);
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.SCHEMAS).gauge().value()).isEqualTo(2);
+		assertThat(this.meterRegistry.find(MicrometerServerMetrics.REPOSITORY_QUERIES)
+				.tag("method", "countSubjects").timer()).isNull();
+	}
+
+	@Test
+	public void lookupsAreTimedWithTheirOutcome() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/test667/format/v667")).andExpect(status().isOk());
+		}
+		mockMvc.perform(get("/test667/format/v1")).andExpect(status().isNotFound());
+
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS).tag("operation", "findOne")
+				.tag("outcome", "success").timer().count()).isEqualTo(2);
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS).tag("operation", "findOne")
+				.tag("exception", "SchemaNotFoundException").timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.CACHE_ACCESSES).tag("cache", "reference")
+				.tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.CACHE_ACCESSES).tag("cache", "reference")
+				.tag("result", "miss").functionCounter().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void listingsAreTimed() throws Exception {
+		mockMvc.perform(get("/test667/format")).andExpect(status().isOk());
+		mockMvc.perform(get("/test667/format/latest")).andExpect(status().isOk());
+		mockMvc.perform(get("/test667/other/latest")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/test667/format/versions")).andExpect(status().isOk());
+		mockMvc.perform(get("/subjects")).andExpect(status().isOk());
+
+		for (String operation : new String[] { "findBySubjectAndFormat", "findLatest", "findVersions",
+				"findSubjects" }) {
+			assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS).tag("operation", operation)
+					.tag("outcome", "success").timer().count()).as(operation).isEqualTo(1);
+		}
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS).tag("operation", "findLatest")
+				.tag("exception", "SchemaNotFoundException").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void batchLookupsAreTimed() throws Exception {
+		mockMvc.perform(post("/schemas/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\": [9999]}"))
+				.andExpect(status().isOk());
+
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS).tag("operation", "findAll")
+				.tag("outcome", "success").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void deletionIsTimed() throws Exception {
+		mockMvc.perform(delete("/test667")).andExpect(status().isMethodNotAllowed());
+
+		assertThat(this.meterRegistry.get(MicrometerServerMetrics.REQUESTS).tag("operation", "deleteSubject")
+				.tag("exception", "SchemaDeletionNotAllowedException").timer().count()).isEqualTo(1);
+	}
+
+	private void register() throws Exception {
+		mockMvc.perform(post("/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"subject\": \"user\", \"format\": \"avro\", \"definition\": "
+						+ "\"" + USER_SCHEMA.replace("\"", "\\\"") + "\"}"))
+				.andExpect(status().isCreated());
+	}
+
+	@TestConfiguration
+	static class MetricsConfiguration {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
+}
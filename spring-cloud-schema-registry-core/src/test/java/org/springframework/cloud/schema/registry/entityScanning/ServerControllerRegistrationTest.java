@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.entityScanning;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.schema.registry.config.SchemaServerConfiguration;
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.support.AvroSchemaValidator;
+import org.springframework.cloud.schema.registry.support.SchemaFingerprintBackfill;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Spring Cloud Team
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = { SchemaServerConfiguration.class })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@EnableAutoConfiguration
+@TestPropertySource(properties = "spring.cloud.schema.server.allowSchemaDeletion=true")
+public class ServerControllerRegistrationTest extends AbstractServerControllerTest {
+
+	private static final String USER_V1 = "{\"type\": \"record\", \"name\": \"User\", "
+			+ "\"fields\": [{\"name\": \"name\", \"type\": \"string\"}]}";
+
+	private static final String USER_V2 = "{\"type\": \"record\", \"name\": \"User\", "
+			+ "\"fields\": [{\"name\": \"name\", \"type\": \"string\"}, "
+			+ "{\"name\": \"age\", \"type\": \"int\", \"default\": 0}]}";
+
+	@Autowired
+	private SchemaFingerprintBackfill fingerprintBackfill;
+
+	@Test
+	public void registeredVersionsAreMatchedAndListed() throws Exception {
+		register(USER_V1).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(1));
+		register(USER_V2).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(2));
+		register(USER_V1).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(1));
+
+		mockMvc.perform(get("/user/avro"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].version").value(1))
+				.andExpect(jsonPath("$[1].version").value(2))
+				.andExpect(jsonPath("$[1].definition").value(USER_V2));
+	}
+
+	@Test
+	public void deletingASubjectDeletesEveryFormatAndEvictsTheCache() throws Exception {
+		Schema other = new Schema();
+		other.setSubject("test667");
+		other.setVersion(1);
+		other.setFormat("other");
+		other.setDefinition("Other Schema Definition");
+		schemaRepository.save(other);
+		mockMvc.perform(get("/test667/format/v667")).andExpect(status().isOk());
+		mockMvc.perform(get("/test667/other")).andExpect(status().isOk());
+
+		mockMvc.perform(delete("/test667")).andExpect(status().isOk());
+
+		mockMvc.perform(get("/test667/format/v667")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/test667/other")).andExpect(status().isNotFound());
+		assertThat(schemaRepository.findSummariesBySubject("test667")).isEmpty();
+	}
+
+	@Test
+	public void subjectCanBeRegisteredAgainOnceDeleted() throws Exception {
+		register(USER_V1).andExpect(status().isCreated());
+		register(USER_V2).andExpect(status().isCreated());
+
+		mockMvc.perform(delete("/user")).andExpect(status().isOk());
+
+		register(USER_V2).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(1));
+	}
+
+	@Test
+	public void versionsWithoutAFingerprintAreMatchedBeforeAndAfterTheBackfill() throws Exception {
+		Schema v1 = saveWithoutFingerprint(USER_V1, 1);
+		Schema v2 = saveWithoutFingerprint(USER_V2, 2);
+
+		register(USER_V2).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(2));
+
+		this.fingerprintBackfill.afterSingletonsInstantiated();
+
+		AvroSchemaValidator validator = new AvroSchemaValidator();
+		assertThat(schemaRepository.findById(v1.getId()).get().getFingerprint())
+				.isEqualTo(validator.fingerprint(USER_V1));
+		assertThat(schemaRepository.findById(v2.getId()).get().getFingerprint())
+				.isEqualTo(validator.fingerprint(USER_V2));
+		register(USER_V1).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(1));
+		register(USER_V2).andExpect(status().isCreated()).andExpect(jsonPath("$.version").value(2));
+
+		Schema v3 = saveWithoutFingerprint(USER_V1.replace("User", "Account"), 3);
+		register(USER_V1.replace("User", "Account")).andExpect(status().isCreated())
+				.andExpect(jsonPath("$.version").value(3))
+				.andExpect(jsonPath("$.id").value(v3.getId()));
+		assertThat(schemaRepository.findSummariesBySubject("user")).hasSize(3);
+	}
+
+	private Schema saveWithoutFingerprint(String definition, int version) {
+		Schema schema = new Schema();
+		schema.setSubject("user");
+		schema.setVersion(version);
+		schema.setFormat("avro");
+		schema.setDefinition(definition);
+		return schemaRepository.save(schema);
+	}
+
+	private ResultActions register(String definition) throws Exception {
+		return mockMvc.perform(post("/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"subject\": \"user\", \"format\": \"avro\", \"definition\": "
+						+ "\"" + definition.replace("\"", "\\\"") + "\"}"));
+	}
+
+}
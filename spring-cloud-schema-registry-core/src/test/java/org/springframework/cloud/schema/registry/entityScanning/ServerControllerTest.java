@@ -19,10 +19,14 @@ package org.springframework.cloud.schema.registry.entityScanning;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.schema.registry.config.SchemaServerConfiguration;
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.repository.CacheStatistics;
+import org.springframework.cloud.schema.registry.repository.SchemaRepositoryCache;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
@@ -31,7 +35,9 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -48,6 +54,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 })
 public class ServerControllerTest extends AbstractServerControllerTest {
 
+	@Autowired
+	private SchemaRepositoryCache schemaRepositoryCache;
+
 	@Test
 	public void propertiesTest() {
 		assertThat(schemaServerProperties.getPath()).isEqualTo("/testpath");
@@ -62,4 +71,71 @@ public class ServerControllerTest extends AbstractServerControllerTest {
 				.andExpect(content().string(containsString("Test Schema Definition")));
 	}
 
+	@Test
+	public void findSchemaIsCached() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get(schemaServerProperties.getPath() + "/test667/format/v667")
+					.accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk());
+		}
+		CacheStatistics statistics = schemaRepositoryCache.getStatistics().stream()
+				.filter(cache -> cache.getName().equals("reference")).findFirst().get();
+		assertThat(statistics.getMisses()).isEqualTo(1);
+		assertThat(statistics.getHits()).isEqualTo(2);
+		assertThat(statistics.getSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void findSchemasInBatch() throws Exception {
+		Schema schema = new Schema();
+		schema.setSubject("test668");
+		schema.setVersion(1);
+		schema.setFormat("format");
+		schema.setDefinition("Other Schema Definition");
+		Integer id = schemaRepository.save(schema).getId();
+
+		mockMvc.perform(post(schemaServerProperties.getPath() + "/schemas/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\": [" + id + ", 9999], \"references\": ["
+						+ "{\"subject\": \"test667\", \"format\": \"format\", \"version\": 667},"
+						+ "{\"subject\": \"test668\", \"format\": \"format\", \"version\": 1},"
+						+ "{\"subject\": \"missing\", \"format\": \"format\", \"version\": 1}]}")
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].definition").value("Other Schema Definition"))
+				.andExpect(jsonPath("$[1].definition").value("Test Schema Definition"));
+	}
+
+	@Test
+	public void findSchemasInBatchReadsOnlyUncachedIds() throws Exception {
+		Integer id = schemaRepository.findOneBySubjectAndFormatAndVersion("test667", "format", 667).getId();
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(post(schemaServerProperties.getPath() + "/schemas/batch")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"ids\": [" + id + ", 9999]}")
+					.accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.length()").value(1));
+		}
+		CacheStatistics statistics = schemaRepositoryCache.getStatistics().stream()
+				.filter(cache -> cache.getName().equals("id")).findFirst().get();
+		assertThat(statistics.getHits()).isEqualTo(1);
+		assertThat(statistics.getMisses()).isEqualTo(3);
+		assertThat(statistics.getSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void findSchemasInBatchRejectsLargeBatches() throws Exception {
+		schemaServerProperties.setMaxBatchLookupSize(2);
+
+		mockMvc.perform(post(schemaServerProperties.getPath() + "/schemas/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\": [1, 2], \"references\": ["
+						+ "{\"subject\": \"test667\", \"format\": \"format\", \"version\": 667}]}")
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("at most 2 ids and references")));
+	}
+
 }
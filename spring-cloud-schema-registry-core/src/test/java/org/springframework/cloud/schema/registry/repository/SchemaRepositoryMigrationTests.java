@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.schema.registry.config.SchemaServerConfiguration;
+import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Verifies that the migration scripts create the schema the entity is mapped to, and
+ * renumber the versions stored more than once before the unique constraint.
+ *
+ * @author Spring Cloud Team
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = { SchemaServerConfiguration.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@EnableAutoConfiguration
+@TestPropertySource(properties = {
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.sql.init.schema-locations="
+				+ "classpath:db/schema-registry/h2/V1__create_schema_repository.sql,"
+				+ "classpath:db/schema-registry/h2/V2__add_schema_fingerprint.sql,"
+				+ "classpath:db/duplicate-schema-versions.sql,"
+				+ "classpath:db/schema-registry/h2/V3__add_schema_version_constraint.sql"
+})
+public class SchemaRepositoryMigrationTests {
+
+	@Autowired
+	private SchemaRepository repository;
+
+	@Test
+	public void migratedSchemaMatchesEntity() {
+		Schema saved = this.repository.save(schema(1));
+
+		assertThat(this.repository.findOneBySubjectAndFormatAndVersion("migration", "avro", 1).getId())
+				.isEqualTo(saved.getId());
+		assertThatThrownBy(() -> this.repository.save(schema(1)))
+				.isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	@Test
+	public void duplicateVersionsAreRenumberedAfterTheLatestVersion() {
+		assertThat(this.repository.findSummariesBySubjectAndFormat("duplicated", "avro"))
+				.extracting(SchemaSummary::getId, SchemaSummary::getVersion)
+				.containsExactly(tuple(1001, 1), tuple(1003, 2), tuple(1002, 3), tuple(1004, 4), tuple(1005, 5));
+		assertThat(this.repository.findSummariesBySubjectAndFormat("duplicated", "json"))
+				.extracting(SchemaSummary::getId, SchemaSummary::getVersion)
+				.containsExactly(tuple(1006, 1));
+	}
+
+	private static Schema schema(int version) {
+		Schema schema = new Schema();
+		schema.setSubject("migration");
+		schema.setFormat("avro");
+		schema.setVersion(version);
+		schema.setDefinition("\"string\"");
+		schema.setFingerprint("fingerprint");
+		return schema;
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.schema.registry.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Spring Cloud Team
+ */
+public class ExpiringLruCacheTests {
+
+	@Test
+	public void valuesAreLoadedOnceAndCounted() {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(cache.get(1, key -> "v" + key + "." + loads.incrementAndGet())).isEqualTo("v1.1");
+		}
+
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cache.misses()).isEqualTo(1);
+		assertThat(cache.hits()).isEqualTo(2);
+	}
+
+	@Test
+	public void nullValuesAreNotCached() {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(cache.get(1, key -> {
+				loads.incrementAndGet();
+				return null;
+			})).isNull();
+		}
+
+		assertThat(loads.get()).isEqualTo(2);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	public void valueLoadedBeforeAnEvictionIsNotCached() {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10);
+
+		String stale = cache.get(1, key -> {
+			cache.evict(key);
+			return "stale";
+		});
+
+		assertThat(stale).isEqualTo("stale");
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get(1, key -> "fresh")).isEqualTo("fresh");
+		assertThat(cache.get(1, key -> "unexpected")).isEqualTo("fresh");
+	}
+
+	@Test
+	public void valuesLoadedInBulkBeforeAClearAreNotCached() {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10);
+
+		Map<Integer, String> stale = cache.getAll(Arrays.asList(1, 2), keys -> {
+			cache.clear();
+			return load(keys, "stale");
+		});
+
+		assertThat(stale).containsOnlyKeys(1, 2);
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get(1, key -> "fresh")).isEqualTo("fresh");
+	}
+
+	@Test
+	public void leastRecentlyUsedEntriesAreEvicted() throws Exception {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10);
+		for (int key = 0; key < 10; key++) {
+			cache.get(key, String::valueOf);
+		}
+		TimeUnit.MILLISECONDS.sleep(1);
+		cache.get(0, key -> "unexpected");
+
+		cache.get(10, String::valueOf);
+
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+		assertThat(cache.get(0, key -> "reloaded")).isEqualTo("0");
+		assertThat(cache.get(10, key -> "reloaded")).isEqualTo("10");
+		assertThat(cache.get(1, key -> "reloaded")).isEqualTo("reloaded");
+	}
+
+	@Test
+	public void sizeLimitHoldsUnderConcurrentLoads() throws Exception {
+		int threads = 8;
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(100);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int thread = 0; thread < threads; thread++) {
+				int offset = thread * 1000;
+				results.add(executor.submit(() -> {
+					start.await();
+					boolean consistent = true;
+					for (int key = offset; key < offset + 1000; key++) {
+						consistent &= String.valueOf(key).equals(cache.get(key, String::valueOf));
+						consistent &= String.valueOf(key % 50).equals(cache.get(key % 50, String::valueOf));
+					}
+					return consistent;
+				}));
+			}
+			start.countDown();
+			for (Future<Boolean> result : results) {
+				assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(cache.size()).isLessThanOrEqualTo(100);
+	}
+
+	@Test
+	public void entriesExpireAfterTheirTimeToLive() throws Exception {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10, TimeUnit.MILLISECONDS.toNanos(50));
+		assertThat(cache.get(1, key -> "first")).isEqualTo("first");
+		assertThat(cache.get(1, key -> "unexpected")).isEqualTo("first");
+
+		TimeUnit.MILLISECONDS.sleep(100);
+
+		assertThat(cache.get(1, key -> "second")).isEqualTo("second");
+		assertThat(cache.getAll(Arrays.asList(1), keys -> load(keys, "unexpected"))).containsEntry(1, "second");
+		TimeUnit.MILLISECONDS.sleep(100);
+		assertThat(cache.getAll(Arrays.asList(1), keys -> load(keys, "third"))).containsEntry(1, "third1");
+	}
+
+	@Test
+	public void getAllKeepsTheRequestOrderAndLeavesOutKeysWithoutAValue() {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10);
+		cache.get(2, key -> "cached");
+		List<Collection<Integer>> requested = new ArrayList<>();
+
+		Map<Integer, String> values = cache.getAll(Arrays.asList(3, 1, 4, 2, 3), keys -> {
+			requested.add(keys);
+			Map<Integer, String> loaded = load(keys, "loaded");
+			loaded.remove(4);
+			return loaded;
+		});
+
+		assertThat(requested).hasSize(1);
+		assertThat(requested.get(0)).containsExactly(3, 1, 4);
+		assertThat(values.keySet()).containsExactly(3, 1, 2);
+		assertThat(values).containsEntry(3, "loaded3").containsEntry(1, "loaded1").containsEntry(2, "cached");
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(cache.getAll(Arrays.asList(1, 3), keys -> load(keys, "unexpected")).keySet())
+				.containsExactly(1, 3);
+	}
+
+	@Test
+	public void zeroSizeLimitDisablesCaching() {
+		ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(0);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(1, key -> "v" + loads.incrementAndGet());
+		cache.getAll(Arrays.asList(1, 2), keys -> {
+			loads.incrementAndGet();
+			return load(keys, "v");
+		});
+
+		assertThat(loads.get()).isEqualTo(2);
+		assertThat(cache.size()).isZero();
+	}
+
+	private static Map<Integer, String> load(Collection<Integer> keys, String prefix) {
+		Map<Integer, String> values = new HashMap<>();
+		for (Integer key : keys) {
+			values.put(key, prefix + key);
+		}
+		return values;
+	}
+
+}
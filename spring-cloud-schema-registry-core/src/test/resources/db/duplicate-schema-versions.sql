@@ -0,0 +1,8 @@
+-- Versions stored more than once by concurrent registrations, before the unique constraint.
+
+insert into SCHEMA_REPOSITORY (ID, VERSION, SUBJECT, FORMAT, DEFINITION) values (1001, 1, 'duplicated', 'avro', '"string"');
+insert into SCHEMA_REPOSITORY (ID, VERSION, SUBJECT, FORMAT, DEFINITION) values (1002, 1, 'duplicated', 'avro', '"int"');
+insert into SCHEMA_REPOSITORY (ID, VERSION, SUBJECT, FORMAT, DEFINITION) values (1003, 2, 'duplicated', 'avro', '"long"');
+insert into SCHEMA_REPOSITORY (ID, VERSION, SUBJECT, FORMAT, DEFINITION) values (1004, 2, 'duplicated', 'avro', '"float"');
+insert into SCHEMA_REPOSITORY (ID, VERSION, SUBJECT, FORMAT, DEFINITION) values (1005, 1, 'duplicated', 'avro', '"double"');
+insert into SCHEMA_REPOSITORY (ID, VERSION, SUBJECT, FORMAT, DEFINITION) values (1006, 1, 'duplicated', 'json', '"string"');
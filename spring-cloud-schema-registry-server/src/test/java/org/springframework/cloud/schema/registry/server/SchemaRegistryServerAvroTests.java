@@ -20,12 +20,18 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.apache.avro.Schema.Parser;
@@ -41,7 +47,10 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.Ssl;
 import org.springframework.cloud.schema.registry.config.SchemaServerProperties;
 import org.springframework.cloud.schema.registry.controllers.ServerController;
+import org.springframework.cloud.schema.registry.model.Compatibility;
 import org.springframework.cloud.schema.registry.model.Schema;
+import org.springframework.cloud.schema.registry.model.SchemaRegistrationResult;
+import org.springframework.cloud.schema.registry.support.ParsedSchemaCache;
 import org.springframework.cloud.schema.registry.support.SchemaNotFoundException;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -116,6 +125,9 @@ public class SchemaRegistryServerAvroTests {
 	@Autowired
 	private ServerProperties serverProperties;
 
+	@Autowired
+	private ParsedSchemaCache parsedSchemaCache;
+
 	private URI serverControllerUri;
 
 	@BeforeEach
@@ -214,6 +226,28 @@ public class SchemaRegistryServerAvroTests {
 		assertSchema(registeredSchema, actual);
 	}
 
+	@Test
+	public void testFindByIdConditionalGet() {
+
+		Schema registeredSchema = registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, 1, 1).getBody();
+
+		URI findByIdUri = this.serverControllerUri.resolve("/schemas/" + registeredSchema.getId());
+
+		ResponseEntity<Schema> findByIdResponse = this.client.getForEntity(findByIdUri, Schema.class);
+
+		String eTag = findByIdResponse.getHeaders().getETag();
+		assertThat(eTag).isNotNull();
+		assertThat(findByIdResponse.getHeaders().getCacheControl()).contains("immutable");
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(eTag);
+		ResponseEntity<Schema> conditionalResponse = this.client.exchange(
+				new RequestEntity<>(headers, HttpMethod.GET, findByIdUri), Schema.class);
+
+		assertThat(conditionalResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(conditionalResponse.getBody()).isNull();
+	}
+
 	@Test
 	public void testFindByIdNotFound() {
 
@@ -235,6 +269,56 @@ public class SchemaRegistryServerAvroTests {
 		registerSchemasAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, AVRO_USER_REGISTRY_SCHEMA_V2);
 	}
 
+	@Test
+	public void testCompatibilityEnforced() {
+
+		this.schemaServerProperties.setCompatibility(Compatibility.BACKWARD);
+
+		registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, 1, 1);
+
+		try {
+			this.client.postForEntity(this.serverControllerUri, AVRO_USER_REGISTRY_SCHEMA_V2, Schema.class);
+			fail("Expects: " + HttpStatus.CONFLICT + " error");
+		}
+		catch (HttpClientErrorException.Conflict conflict) {
+			assertThat(conflict.getMessage()).isEqualTo("409 : \"Incompatible Schema: Compatibility with version 1 "
+					+ "of subject user is FORWARD, but BACKWARD is required\"");
+		}
+
+		this.schemaServerProperties.getSubjectCompatibility().put(AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT,
+				Compatibility.FORWARD);
+
+		registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V2, 2, null);
+	}
+
+	@Test
+	public void testCompatibilityWithLatestVersionOnly() {
+
+		this.schemaServerProperties.setCompatibility(Compatibility.BACKWARD);
+
+		registerSchemaAndAssertSuccess(toSchema("order", AVRO_FORMAT_NAME, "{\"type\": \"record\", "
+				+ "\"name\": \"Order\", \"fields\": [{\"name\": \"a\", \"type\": \"string\"}]}"), 1, null);
+		registerSchemaAndAssertSuccess(toSchema("order", AVRO_FORMAT_NAME, "{\"type\": \"record\", "
+				+ "\"name\": \"Order\", \"fields\": [{\"name\": \"a\", \"type\": \"string\"}, "
+				+ "{\"name\": \"b\", \"type\": \"string\", \"default\": \"x\"}]}"), 2, null);
+		// can read version 2, but not version 1 which lacks b
+		Schema v3 = toSchema("order", AVRO_FORMAT_NAME, "{\"type\": \"record\", \"name\": \"Order\", "
+				+ "\"fields\": [{\"name\": \"a\", \"type\": \"string\"}, {\"name\": \"b\", \"type\": \"string\"}]}");
+
+		try {
+			this.client.postForEntity(this.serverControllerUri, v3, Schema.class);
+			fail("Expects: " + HttpStatus.CONFLICT + " error");
+		}
+		catch (HttpClientErrorException.Conflict conflict) {
+			assertThat(conflict.getMessage()).isEqualTo("409 : \"Incompatible Schema: Compatibility with version 1 "
+					+ "of subject order is FORWARD, but BACKWARD is required\"");
+		}
+
+		this.schemaServerProperties.setTransitiveCompatibility(false);
+
+		registerSchemaAndAssertSuccess(v3, 3, null);
+	}
+
 	@Test
 	public void testIdempotentRegistration() {
 
@@ -244,6 +328,100 @@ public class SchemaRegistryServerAvroTests {
 
 	}
 
+	@Test
+	public void testRegistrationMatchesReformattedDefinition() {
+
+		registerSchemasAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, AVRO_USER_REGISTRY_SCHEMA_V2);
+
+		Schema reformatted = toSchema(AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT, AVRO_FORMAT_NAME,
+				AVRO_USER_AVRO_SCHEMA_V1.toString(true));
+		Schema registered = this.client.postForEntity(this.serverControllerUri, reformatted, Schema.class).getBody();
+
+		assertThat(registered.getVersion()).isEqualTo(1);
+		assertThat(registered.getId()).isEqualTo(1);
+		assertThat(registered.getDefinition()).isEqualTo(AVRO_USER_REGISTRY_SCHEMA_V1.getDefinition());
+	}
+
+	@Test
+	public void testRegistrationParsesEachDefinitionOnce() {
+
+		registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, 1, 1);
+		registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, 1, 1);
+		registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V2, 2, 2);
+
+		assertThat(this.parsedSchemaCache.misses()).isEqualTo(2);
+		assertThat(this.parsedSchemaCache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void testConcurrentRegistrations() throws Exception {
+		int subjects = 4;
+		int versions = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(subjects * versions);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Schema>> futures = new ArrayList<>();
+			for (int i = 0; i < subjects; i++) {
+				for (int j = 0; j < versions; j++) {
+					Schema schema = toSchema("concurrent" + i, AVRO_FORMAT_NAME,
+							"{\"type\": \"record\", \"name\": \"Concurrent\", \"fields\": "
+									+ "[{\"name\": \"field" + j + "\", \"type\": \"int\"}]}");
+					futures.add(executor.submit(() -> {
+						start.await();
+						return this.client.postForEntity(this.serverControllerUri, schema, Schema.class).getBody();
+					}));
+				}
+			}
+			start.countDown();
+			Map<String, List<Integer>> versionsBySubject = new HashMap<>();
+			for (Future<Schema> future : futures) {
+				Schema registered = future.get(30, TimeUnit.SECONDS);
+				versionsBySubject.computeIfAbsent(registered.getSubject(), subject -> new ArrayList<>())
+						.add(registered.getVersion());
+			}
+			assertThat(versionsBySubject).hasSize(subjects);
+			versionsBySubject.values().forEach(registeredVersions -> assertThat(registeredVersions)
+					.containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testBatchRegistration() {
+
+		registerSchemaAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, 1, 1);
+
+		Schema invalid = toSchema(AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT, AVRO_FORMAT_NAME, "{}");
+		List<Schema> batch = Arrays.asList(AVRO_USER_REGISTRY_SCHEMA_V1, AVRO_USER_REGISTRY_SCHEMA_V2, invalid,
+				AVRO_USER_REGISTRY_SCHEMA_V2, AAVRO_USER_REGISTRY_SCHEMA_V1_WITH_QUAL_SUBJECT);
+
+		URI batchUri = UriComponentsBuilder.fromUri(this.serverControllerUri).path("/batch").build().toUri();
+		ResponseEntity<List<SchemaRegistrationResult>> response = this.client.exchange(
+				new RequestEntity<>(batch, HttpMethod.POST, batchUri),
+				new ParameterizedTypeReference<List<SchemaRegistrationResult>>() {
+				});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		List<SchemaRegistrationResult> results = response.getBody();
+		assertThat(results).extracting(SchemaRegistrationResult::getStatus).containsExactly(201, 201, 400, 201, 201);
+		assertThat(results.get(0).getSchema().getVersion()).isEqualTo(1);
+		assertThat(results.get(0).getSchema().getId()).isEqualTo(1);
+		assertThat(results.get(1).getSchema().getVersion()).isEqualTo(2);
+		assertThat(results.get(2).getError()).startsWith("Invalid Schema");
+		assertThat(results.get(3).getSchema().getId()).isEqualTo(results.get(1).getSchema().getId());
+		assertThat(results.get(4).getSchema().getSubject())
+				.isEqualTo(AVRO_USER_SCHEMA_QUALIFED_NAME_STRATEGY_SUBJECT);
+		assertThat(results.get(4).getSchema().getVersion()).isEqualTo(1);
+
+		ResponseEntity<Schema> v2 = this.client.getForEntity(
+				this.serverControllerUri + "/" + AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT + "/"
+						+ AVRO_FORMAT_NAME + "/v2", Schema.class);
+		assertThat(v2.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(v2.getBody().getDefinition()).isEqualTo(AVRO_USER_REGISTRY_SCHEMA_V2.getDefinition());
+	}
+
 	//@Test(expected = HttpClientErrorException.NotFound.class)
 	public void testSchemaNotfound() {
 		this.client.getForEntity("http://localhost:8990/foo/avro/v42", Schema.class);
@@ -518,6 +696,59 @@ public class SchemaRegistryServerAvroTests {
 
 	}
 
+	@Test
+	public void testFindLatest() {
+
+		registerSchemasAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, AVRO_USER_REGISTRY_SCHEMA_V2);
+
+		ResponseEntity<Schema> latestResponse = this.client.getForEntity(this.serverControllerUri
+				.resolve("/" + AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT + "/" + AVRO_FORMAT_NAME + "/latest"),
+				Schema.class);
+
+		assertThat(latestResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertSchema(AVRO_USER_REGISTRY_SCHEMA_V2, 2, 2, latestResponse.getBody());
+	}
+
+	@Test
+	public void testFindVersionsPaged() {
+
+		registerSchemasAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, AVRO_USER_REGISTRY_SCHEMA_V2);
+
+		URI versionsUri = this.serverControllerUri.resolve("/" + AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT
+				+ "/" + AVRO_FORMAT_NAME + "/versions?size=1");
+
+		ResponseEntity<List<Schema>> firstPage = this.client.exchange(versionsUri, HttpMethod.GET, null,
+				new ParameterizedTypeReference<List<Schema>>() {
+				});
+
+		assertThat(firstPage.getBody()).extracting(Schema::getVersion).containsExactly(1);
+		String next = firstPage.getHeaders().getFirst(HttpHeaders.LINK);
+		assertThat(next).contains("page=1").endsWith("rel=\"next\"");
+
+		ResponseEntity<List<Schema>> secondPage = this.client.exchange(
+				URI.create(next.substring(1, next.indexOf('>'))), HttpMethod.GET, null,
+				new ParameterizedTypeReference<List<Schema>>() {
+				});
+
+		assertThat(secondPage.getBody()).extracting(Schema::getVersion).containsExactly(2);
+		assertThat(secondPage.getHeaders().containsKey(HttpHeaders.LINK)).isFalse();
+	}
+
+	@Test
+	public void testFindSubjects() {
+
+		registerSchemasAndAssertSuccess(AVRO_USER_REGISTRY_SCHEMA_V1, AVRO_USER_REGISTRY_SCHEMA_V2,
+				AAVRO_USER_REGISTRY_SCHEMA_V1_WITH_QUAL_SUBJECT);
+
+		ResponseEntity<List<String>> subjectsResponse = this.client.exchange(
+				this.serverControllerUri.resolve("/subjects"), HttpMethod.GET, null,
+				new ParameterizedTypeReference<List<String>>() {
+				});
+
+		assertThat(subjectsResponse.getBody()).containsExactly(AVRO_USER_SCHEMA_QUALIFED_NAME_STRATEGY_SUBJECT,
+				AVRO_USER_SCHEMA_DEFAULT_NAME_STRATEGY_SUBJECT);
+	}
+
 	private Map<String, Map<String, List<ResponseEntity<Schema>>>> registerSchemasAndAssertSuccess(
 			@NonNull Schema... schemas) {
 		Map<String, Map<String, Integer>> versionsByFormatAndSubject = new HashMap<>();